@@ -355,8 +355,8 @@ fun GameOverDialog(
     onRestart: () -> Unit,
     onExit: () -> Unit
 ) {
-    val player1Wins = Round.getWinsForPlayer1()
-    val player2Wins = Round.getWinsForPlayer2()
+    val player1Wins = round.getWinsForPlayer1()
+    val player2Wins = round.getWinsForPlayer2()
 
     Dialog(onDismissRequest = { onExit() }) {
         Surface(
@@ -125,7 +125,7 @@ fun GameContent(board: MutableState<Board>) {
         )
         GameState.ContinuePlaying -> {
             val newRound = round.value?.let {
-                Round(it.getPlayer1(), it.getPlayer2(), it.getRoundWinner(), null, it.getPlayer1Score(), it.getPlayer2Score(), Round.getWinsForPlayer1(), Round.getWinsForPlayer2())
+                Round(it.getPlayer1(), it.getPlayer2(), it.getRoundWinner(), null, it.getPlayer1Score(), it.getPlayer2Score(), it.getWinsForPlayer1(), it.getWinsForPlayer2())
             }
             val newBoard = Board().apply { resetBoard() }
             board.value = newBoard
@@ -0,0 +1,26 @@
+// JMH benchmarks of the game engine on a plain JVM: ./gradlew :benchmark:jmh
+// Results are written as JSON to build/results/jmh/results.json
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    jmh(project(":engine"))
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    benchmarkMode.set(listOf("avgt"))
+    timeUnit.set("us")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
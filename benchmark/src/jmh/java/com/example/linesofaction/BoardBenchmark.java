@@ -0,0 +1,57 @@
+package com.example.linesofaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Board.movePiece, the move path the game itself uses, over every legal move in each corpus position.
+ * Each move is undone by copying the position back, which {@link #restoreOnly()} measures on its own.
+ */
+@State(Scope.Thread)
+public class BoardBenchmark {
+    private Board board;
+    private Board[] positions;
+    // One {position index, start row, start column, end row, end column, color} per legal move
+    private int[][] moves;
+
+    @Setup
+    public void setUp() {
+        List<Board> corpus = PositionCorpus.positions();
+        positions = corpus.toArray(new Board[0]);
+        board = new Board();
+        List<int[]> legal = new ArrayList<>();
+        MoveList list = new MoveList();
+        for (int i = 0; i < positions.length; i++) {
+            char side = positions[i].getSideToMove();
+            MoveGenerator.generateMoves(positions[i], side, list);
+            for (int j = 0; j < list.size(); j++) {
+                int move = list.get(j);
+                legal.add(new int[] {i, Bitboards.row(Move.from(move)), Bitboards.col(Move.from(move)),
+                        Bitboards.row(Move.to(move)), Bitboards.col(Move.to(move)), side});
+            }
+        }
+        moves = legal.toArray(new int[0][]);
+    }
+
+    @Benchmark
+    public Board movePiece() {
+        for (int[] move : moves) {
+            board.copyFrom(positions[move[0]]);
+            board.movePiece(move[1], move[2], move[3], move[4], (char) move[5]);
+        }
+        return board;
+    }
+
+    @Benchmark
+    public Board restoreOnly() {
+        for (int[] move : moves) {
+            board.copyFrom(positions[move[0]]);
+        }
+        return board;
+    }
+}
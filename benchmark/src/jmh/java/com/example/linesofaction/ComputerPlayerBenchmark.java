@@ -0,0 +1,34 @@
+package com.example.linesofaction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * ComputerPlayer.generateAllPossibleMoves for the side to move in each corpus position.
+ */
+@State(Scope.Thread)
+public class ComputerPlayerBenchmark {
+    private Board[] boards;
+    private ComputerPlayer[] players;
+
+    @Setup
+    public void setUp() {
+        boards = PositionCorpus.positions().toArray(new Board[0]);
+        players = new ComputerPlayer[boards.length];
+        for (int i = 0; i < boards.length; i++) {
+            players[i] = new ComputerPlayer("Benchmark");
+            players[i].setPieceType(boards[i].getSideToMove());
+        }
+    }
+
+    @Benchmark
+    public void generateAllPossibleMoves(Blackhole blackhole) {
+        for (int i = 0; i < boards.length; i++) {
+            players[i].generateAllPossibleMoves(boards[i]);
+            blackhole.consume(players[i].getPossibleMoves().size());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.linesofaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fixed set of positions the benchmarks run over: the five case boards Round can start from,
+ * plus mid-game positions reached by seeded random play, so every run measures the same work.
+ */
+public final class PositionCorpus {
+    public static final int RANDOM_POSITIONS = 27;
+
+    private static final long SEED = 20240401L;
+    private static final int MIN_PLIES = 8;
+    private static final int MAX_PLIES = 30;
+
+    private PositionCorpus() {
+    }
+
+    /**
+     * Builds the corpus; each board has its side to move set.
+     * @return List of independent boards, the case boards first.
+     */
+    public static List<Board> positions() {
+        List<Board> positions = new ArrayList<>();
+        // Side to move for each case board, as Round sets it up
+        char[] caseSides = {'W', 'B', 'B', 'B', 'W'};
+        for (int setup = 1; setup <= caseSides.length; setup++) {
+            Board board = new Board();
+            switch (setup) {
+                case 1:
+                    board.case1Board();
+                    break;
+                case 2:
+                    board.case2Board();
+                    break;
+                case 3:
+                    board.case3Board();
+                    break;
+                case 4:
+                    board.case4Board();
+                    break;
+                default:
+                    board.case5Board();
+                    break;
+            }
+            board.setSideToMove(caseSides[setup - 1]);
+            positions.add(board);
+        }
+
+        Random random = new Random(SEED);
+        MoveList moves = new MoveList();
+        while (positions.size() < caseSides.length + RANDOM_POSITIONS) {
+            Board board = new Board();
+            int plies = MIN_PLIES + random.nextInt(MAX_PLIES - MIN_PLIES + 1);
+            boolean finished = false;
+            for (int ply = 0; ply < plies && !finished; ply++) {
+                MoveGenerator.generateMoves(board, board.getSideToMove(), moves);
+                if (moves.isEmpty()) {
+                    finished = true;
+                } else {
+                    board.makeMove(moves.get(random.nextInt(moves.size())));
+                    finished = board.isConnected('B') || board.isConnected('W');
+                }
+            }
+            // Only unfinished games make useful mid-game positions
+            if (!finished) {
+                positions.add(new Board(board));
+            }
+        }
+        return positions;
+    }
+}
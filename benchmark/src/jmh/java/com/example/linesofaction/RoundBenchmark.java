@@ -0,0 +1,33 @@
+package com.example.linesofaction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Round.checkConnectedGroup for both colors in each corpus position, one Round per position.
+ */
+@State(Scope.Thread)
+public class RoundBenchmark {
+    private Round[] rounds;
+
+    @Setup
+    public void setUp() {
+        Board[] boards = PositionCorpus.positions().toArray(new Board[0]);
+        rounds = new Round[boards.length];
+        for (int i = 0; i < boards.length; i++) {
+            rounds[i] = new Round(new HumanPlayer("Black"), new HumanPlayer("White"), null, null, null, null, null, null);
+            rounds[i].getGameBoard().copyFrom(boards[i]);
+        }
+    }
+
+    @Benchmark
+    public void checkConnectedGroup(Blackhole blackhole) {
+        for (Round round : rounds) {
+            blackhole.consume(round.checkConnectedGroup('B'));
+            blackhole.consume(round.checkConnectedGroup('W'));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.linesofaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Rules checks over every straight-line move of the side to move in each corpus position,
+ * a mix of legal and illegal moves. Each operation is one pass over the whole corpus.
+ */
+@State(Scope.Thread)
+public class RulesBenchmark {
+    private Rules rules;
+    private Board[] boards;
+    private Player[] players;
+    // One {board index, start row, start column, end row, end column} per candidate move
+    private int[][] candidates;
+
+    @Setup
+    public void setUp() {
+        rules = new Rules();
+        List<Board> positions = PositionCorpus.positions();
+        boards = positions.toArray(new Board[0]);
+        players = new Player[boards.length];
+        List<int[]> moves = new ArrayList<>();
+        for (int i = 0; i < boards.length; i++) {
+            char side = boards[i].getSideToMove();
+            players[i] = new HumanPlayer();
+            players[i].setPieceType(side);
+            for (long pieces = boards[i].getPieces(side); pieces != 0; pieces &= pieces - 1) {
+                int from = Long.numberOfTrailingZeros(pieces);
+                for (int dir = 0; dir < Bitboards.DIRECTIONS; dir++) {
+                    for (int distance = 1; distance <= Bitboards.rayLength(dir, from); distance++) {
+                        moves.add(new int[] {i, Bitboards.row(from), Bitboards.col(from),
+                                Bitboards.row(from) + distance * Bitboards.ROW_STEPS[dir],
+                                Bitboards.col(from) + distance * Bitboards.COL_STEPS[dir]});
+                    }
+                }
+            }
+        }
+        candidates = moves.toArray(new int[0][]);
+    }
+
+    @Benchmark
+    public void isValidMove(Blackhole blackhole) {
+        for (int[] move : candidates) {
+            blackhole.consume(rules.isValidMove(boards[move[0]], players[move[0]], move[1], move[2], move[3], move[4]));
+        }
+    }
+
+    @Benchmark
+    public void countPiecesInLine(Blackhole blackhole) {
+        for (int[] move : candidates) {
+            char direction = move[1] == move[3] ? 'H' : 'V';
+            blackhole.consume(rules.countPiecesInLine(boards[move[0]], move[1], move[2], direction));
+        }
+    }
+
+    @Benchmark
+    public void countDiagonalPieces(Blackhole blackhole) {
+        for (int[] move : candidates) {
+            if (move[1] != move[3] && move[2] != move[4]) {
+                blackhole.consume(rules.countDiagonalPieces(boards[move[0]], move[1], move[2], move[3], move[4]));
+            }
+        }
+    }
+}
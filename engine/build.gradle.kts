@@ -0,0 +1,22 @@
+// The game rules, players and AI as a plain Java library, so they also run on a stock JVM
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
+
+// Unattended self-play, e.g. nightly: ./gradlew :engine:selfPlay --args="100000 8 results.csv games.loag"
+// Relative paths are resolved against this module's directory; see SelfPlayRunner.main for the options
+tasks.register<JavaExec>("selfPlay") {
+    group = "application"
+    description = "Plays computer-vs-computer games headlessly and writes the results and game records."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.linesofaction.SelfPlayRunner")
+}
@@ -0,0 +1,344 @@
+package com.example.linesofaction;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Negamax alpha-beta search with iterative deepening, bounded by a maximum depth and a time budget.
+ * Searches a private copy of the board using makeMove/unmakeMove.
+ */
+public class AlphaBetaSearch implements MoveStrategy {
+    public static final int WIN_SCORE = 1_000_000;
+    public static final int MAX_PLY = 64;
+    public static final long NO_TIME_LIMIT = 0;
+
+    private static final int INFINITY = WIN_SCORE + 1;
+    // How many nodes to search between clock checks
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    private static final int DEFAULT_TABLE_MEGABYTES = 8;
+
+    private final int maxDepth;
+    private final long timeBudgetNanos;
+    private final TranspositionTable table;
+    private final MoveList rootMoves = new MoveList();
+    private final MovePicker[] pickersByPly = new MovePicker[MAX_PLY];
+    // Two most recent quiet moves that caused a cutoff at each ply
+    private final int[][] killers = new int[MAX_PLY][2];
+    // Cutoff counts weighted by depth squared, see MovePicker.historyIndex
+    private final int[] history = new int[MovePicker.HISTORY_SIZE];
+    // Set by a parallel search so helper searches can be told to stop; checked with the clock
+    private AtomicBoolean stopSignal;
+    // Set while searching a subtree for a parallel search, which may abandon the subtree before it finishes
+    private BooleanSupplier subtreeAbandoned;
+    private int firstDepth = 1;
+
+    private long deadline;
+    private boolean stopped;
+    private long nodes;
+    private int completedDepth;
+    private int bestScore;
+
+    /**
+     * @param maxDepth int deepest iteration to search, in plies (1 to {@link #MAX_PLY} - 1).
+     * @param timeBudgetMillis long time allowed per move, or {@link #NO_TIME_LIMIT}; the deepest completed iteration is used.
+     */
+    public AlphaBetaSearch(int maxDepth, long timeBudgetMillis) {
+        this(maxDepth, timeBudgetMillis, new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /**
+     * @param maxDepth int deepest iteration to search, in plies (1 to {@link #MAX_PLY} - 1).
+     * @param timeBudgetMillis long time allowed per move, or {@link #NO_TIME_LIMIT}; the deepest completed iteration is used.
+     * @param table TranspositionTable to use, which may be shared with other searches.
+     */
+    public AlphaBetaSearch(int maxDepth, long timeBudgetMillis, TranspositionTable table) {
+        this.table = table;
+        this.maxDepth = Math.max(1, Math.min(maxDepth, MAX_PLY - 1));
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            pickersByPly[ply] = new MovePicker();
+        }
+    }
+
+    @Override
+    public int selectMove(Board board, char pieceType) {
+        Board position = new Board(board);
+        position.setSideToMove(pieceType);
+        nodes = 0;
+        completedDepth = 0;
+        bestScore = 0;
+        stopped = false;
+        deadline = System.nanoTime() + timeBudgetNanos;
+        resetOrdering();
+
+        MoveGenerator.generateMoves(position, pieceType, rootMoves);
+        if (rootMoves.isEmpty()) {
+            return Move.NONE;
+        }
+        int bestMove = rootMoves.get(0);
+
+        for (int depth = Math.min(firstDepth, maxDepth); depth <= maxDepth; depth++) {
+            int iterationBest = Move.NONE;
+            int alpha = -INFINITY;
+            for (int i = 0; i < rootMoves.size(); i++) {
+                int move = rootMoves.get(i);
+                position.makeMove(move);
+                int score = -negamax(position, depth - 1, -INFINITY, -alpha, 1);
+                position.unmakeMove();
+                if (stopped) {
+                    break;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBest = move;
+                }
+            }
+            if (stopped) {
+                break;
+            }
+            bestMove = iterationBest;
+            bestScore = alpha;
+            completedDepth = depth;
+            moveToFront(rootMoves, bestMove);
+            if (Math.abs(bestScore) >= WIN_SCORE - MAX_PLY) {
+                break; // A forced win or loss will not change with more depth
+            }
+        }
+        return bestMove;
+    }
+
+    private int negamax(Board board, int depth, int alpha, int beta, int ply) {
+        if (++nodes % TIME_CHECK_INTERVAL == 0 && shouldStop()) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+        char side = board.getSideToMove();
+        char opponent = side == 'B' ? 'W' : 'B';
+        // The player who just moved wins if connected, even when the move also connected the other side
+        if (board.isConnected(opponent)) {
+            return -(WIN_SCORE - ply);
+        }
+        if (board.isConnected(side)) {
+            return WIN_SCORE - ply;
+        }
+        if (depth == 0 || ply >= MAX_PLY - 1) {
+            return Evaluator.evaluate(board, side);
+        }
+
+        long key = board.getHash();
+        long entry = table.probe(key);
+        int hashMove = Move.NONE;
+        if (entry != 0) {
+            hashMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = scoreFromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.BOUND_EXACT
+                        || (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+                        || (bound == TranspositionTable.BOUND_UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        MovePicker picker = pickersByPly[ply];
+        picker.reset(board, side, hashMove, killers[ply][0], killers[ply][1], history);
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = Move.NONE;
+        for (int move = picker.next(); move != Move.NONE; move = picker.next()) {
+            board.makeMove(move);
+            int score = -negamax(board, depth - 1, -beta, -alpha, ply + 1);
+            board.unmakeMove();
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        if (!Move.isCapture(move)) {
+                            recordCutoff(side, move, depth, ply);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        if (bestMove == Move.NONE) {
+            return -(WIN_SCORE - ply); // Treat being unable to move as a loss
+        }
+        if (!stopped) {
+            int bound = best <= originalAlpha ? TranspositionTable.BOUND_UPPER
+                    : best >= beta ? TranspositionTable.BOUND_LOWER : TranspositionTable.BOUND_EXACT;
+            table.store(key, bestMove, depth, bound, scoreToTable(best, ply));
+        }
+        return best;
+    }
+
+    /**
+     * Remembers a quiet move that refuted its position as a killer for its ply and in the history table.
+     */
+    private void recordCutoff(char side, int move, int depth, int ply) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int index = MovePicker.historyIndex(side, move);
+        history[index] += depth * depth;
+        // Keep scores bounded over a long game by halving the whole table when one grows large
+        if (history[index] > 1 << 24) {
+            for (int i = 0; i < history.length; i++) {
+                history[i] >>= 1;
+            }
+        }
+    }
+
+    /**
+     * Forgets the killers of the last search and ages its history scores.
+     */
+    private void resetOrdering() {
+        for (int[] plyKillers : killers) {
+            plyKillers[0] = Move.NONE;
+            plyKillers[1] = Move.NONE;
+        }
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 1;
+        }
+    }
+
+    private boolean shouldStop() {
+        if (stopSignal != null && stopSignal.get()) {
+            return true;
+        }
+        if (subtreeAbandoned != null && subtreeAbandoned.getAsBoolean()) {
+            return true;
+        }
+        return timeBudgetNanos != NO_TIME_LIMIT && System.nanoTime() - deadline > 0;
+    }
+
+    // Win scores are stored relative to the stored node rather than the root, so they stay valid at any ply
+    static int scoreToTable(int score, int ply) {
+        if (score >= WIN_SCORE - MAX_PLY) {
+            return score + ply;
+        }
+        return score <= -(WIN_SCORE - MAX_PLY) ? score - ply : score;
+    }
+
+    static int scoreFromTable(int score, int ply) {
+        if (score >= WIN_SCORE - MAX_PLY) {
+            return score - ply;
+        }
+        return score <= -(WIN_SCORE - MAX_PLY) ? score + ply : score;
+    }
+
+    static void moveToFront(MoveList moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                for (int j = i; j > 0; j--) {
+                    moves.set(j, moves.get(j - 1));
+                }
+                moves.set(0, move);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Makes the search stop soon after the flag is set, keeping its deepest completed iteration.
+     * @param stopSignal AtomicBoolean shared with whoever ends the search, or null.
+     */
+    void setStopSignal(AtomicBoolean stopSignal) {
+        this.stopSignal = stopSignal;
+    }
+
+    /**
+     * Sets the depth of the first iteration, so parallel helpers can start at different depths.
+     * @param firstDepth int depth of the first iteration (at least 1).
+     */
+    void setFirstDepth(int firstDepth) {
+        this.firstDepth = Math.max(1, firstDepth);
+    }
+
+    /**
+     * Prepares this search to evaluate subtrees for another search that walks the upper tree itself.
+     * @param deadline long System.nanoTime() value after which the search stops (ignored without a time budget).
+     */
+    void beginSubtreeSearch(long deadline) {
+        this.deadline = deadline;
+        resetOrdering();
+        stopped = false;
+        nodes = 0;
+    }
+
+    /**
+     * Searches one subtree after {@link #beginSubtreeSearch(long)}; the result is meaningless once {@link #isStopped()}.
+     * @param board Board positioned at the subtree's root, with the correct side to move.
+     * @param depth int remaining depth.
+     * @param alpha int lower bound of the window.
+     * @param beta int upper bound of the window.
+     * @param ply int distance from the overall root.
+     * @return int score from the side to move's point of view.
+     */
+    int searchSubtree(Board board, int depth, int alpha, int beta, int ply) {
+        return searchSubtree(board, depth, alpha, beta, ply, null);
+    }
+
+    /**
+     * Searches one subtree that the caller may abandon midway, e.g. because a sibling caused a cutoff.
+     * The search stops as soon as it notices, and {@link #isStopped()} then reports true.
+     * @param board Board positioned at the subtree's root, with the correct side to move.
+     * @param depth int remaining depth.
+     * @param alpha int lower bound of the window.
+     * @param beta int upper bound of the window.
+     * @param ply int distance from the overall root.
+     * @param abandoned BooleanSupplier checked with the clock, true once the result is no longer wanted; or null.
+     * @return int score from the side to move's point of view.
+     */
+    int searchSubtree(Board board, int depth, int alpha, int beta, int ply, BooleanSupplier abandoned) {
+        subtreeAbandoned = abandoned;
+        try {
+            // An earlier subtree may have been abandoned; only time or an abandoned caller stops this one
+            stopped = shouldStop();
+            return negamax(board, depth, alpha, beta, ply);
+        } finally {
+            subtreeAbandoned = null;
+        }
+    }
+
+    /**
+     * @return boolean true if the current search ran out of time or was told to stop.
+     */
+    boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * @return TranspositionTable used by this search.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return long number of nodes visited by the last search.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return int depth of the last fully searched iteration.
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * @return int score of the chosen move from the mover's point of view.
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.linesofaction;
+
+/**
+ * Constants and helpers for 64-bit board masks, where bit (row * 8 + col) stands for one square.
+ */
+public final class Bitboards {
+    public static final int SIZE = 8;
+
+    public static final long FIRST_ROW = 0xFFL;
+    public static final long FIRST_COLUMN = 0x0101010101010101L;
+
+    private static final long NOT_FIRST_COLUMN = ~FIRST_COLUMN;
+    private static final long NOT_LAST_COLUMN = ~(FIRST_COLUMN << 7);
+
+    // Squares with row == col, and with row + col == 7
+    public static final long MAIN_DIAGONAL = 0x8040201008040201L;
+    public static final long MAIN_ANTI_DIAGONAL = 0x0102040810204080L;
+
+    public static final long INNER_TOP_ROW = 0x7EL;
+    public static final long INNER_BOTTOM_ROW = 0x7EL << 56;
+    public static final long INNER_LEFT_COLUMN = 0x0001010101010100L;
+    public static final long INNER_RIGHT_COLUMN = INNER_LEFT_COLUMN << 7;
+
+    // The eight move directions; direction d and d ^ 1 are opposite ends of the same line
+    public static final int DIRECTIONS = 8;
+    public static final int[] ROW_STEPS = {0, 0, 1, -1, 1, -1, 1, -1};
+    public static final int[] COL_STEPS = {1, -1, 0, 0, 1, -1, -1, 1};
+
+    // RAYS[dir * 64 + square]: every square from square (exclusive) to the board edge in that direction
+    private static final long[] RAYS = new long[DIRECTIONS * SIZE * SIZE];
+    // RAY_LENGTHS[dir * 64 + square]: number of squares on that ray
+    private static final int[] RAY_LENGTHS = new int[DIRECTIONS * SIZE * SIZE];
+
+    static {
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            for (int square = 0; square < SIZE * SIZE; square++) {
+                int row = row(square) + ROW_STEPS[dir];
+                int col = col(square) + COL_STEPS[dir];
+                long ray = 0L;
+                int length = 0;
+                while (row >= 0 && row < SIZE && col >= 0 && col < SIZE) {
+                    ray |= squareMask(row, col);
+                    length++;
+                    row += ROW_STEPS[dir];
+                    col += COL_STEPS[dir];
+                }
+                RAYS[dir * SIZE * SIZE + square] = ray;
+                RAY_LENGTHS[dir * SIZE * SIZE + square] = length;
+            }
+        }
+    }
+
+    private Bitboards() {
+    }
+
+    /**
+     * Converts a row and column to a square index.
+     * @param row int row index (0-7).
+     * @param col int column index (0-7).
+     * @return int square index (0-63).
+     */
+    public static int square(int row, int col) {
+        return row * SIZE + col;
+    }
+
+    /**
+     * Returns the row of a square index.
+     * @param square int square index (0-63).
+     * @return int row index (0-7).
+     */
+    public static int row(int square) {
+        return square >>> 3;
+    }
+
+    /**
+     * Returns the column of a square index.
+     * @param square int square index (0-63).
+     * @return int column index (0-7).
+     */
+    public static int col(int square) {
+        return square & 7;
+    }
+
+    /**
+     * Returns the single-bit mask for a square.
+     * @param row int row index (0-7).
+     * @param col int column index (0-7).
+     * @return long with only that square's bit set.
+     */
+    public static long squareMask(int row, int col) {
+        return 1L << square(row, col);
+    }
+
+    /**
+     * Returns the mask of every square in a row.
+     * @param row int row index (0-7).
+     * @return long mask of the row.
+     */
+    public static long rowMask(int row) {
+        return FIRST_ROW << (row * SIZE);
+    }
+
+    /**
+     * Returns the mask of every square in a column.
+     * @param col int column index (0-7).
+     * @return long mask of the column.
+     */
+    public static long columnMask(int col) {
+        return FIRST_COLUMN << col;
+    }
+
+    /**
+     * Returns the mask of a diagonal running from top-left to bottom-right.
+     * @param index int diagonal index, row - col + 7 (0-14).
+     * @return long mask of the diagonal.
+     */
+    public static long diagonalMask(int index) {
+        int shift = index - (SIZE - 1);
+        return shift >= 0 ? MAIN_DIAGONAL << (shift * SIZE) : MAIN_DIAGONAL >>> (-shift * SIZE);
+    }
+
+    /**
+     * Returns the mask of a diagonal running from bottom-left to top-right.
+     * @param index int anti-diagonal index, row + col (0-14).
+     * @return long mask of the anti-diagonal.
+     */
+    public static long antiDiagonalMask(int index) {
+        int shift = index - (SIZE - 1);
+        return shift >= 0 ? MAIN_ANTI_DIAGONAL << (shift * SIZE) : MAIN_ANTI_DIAGONAL >>> (-shift * SIZE);
+    }
+
+    /**
+     * Returns the squares from a square (exclusive) to the edge of the board in one direction.
+     * @param dir int direction index (0-7), see {@link #ROW_STEPS} and {@link #COL_STEPS}.
+     * @param square int square index (0-63).
+     * @return long mask of the ray.
+     */
+    public static long ray(int dir, int square) {
+        return RAYS[dir * SIZE * SIZE + square];
+    }
+
+    /**
+     * Returns how many squares lie between a square and the edge of the board in one direction.
+     * @param dir int direction index (0-7).
+     * @param square int square index (0-63).
+     * @return int number of squares on the ray.
+     */
+    public static int rayLength(int dir, int square) {
+        return RAY_LENGTHS[dir * SIZE * SIZE + square];
+    }
+
+    /**
+     * Returns the squares strictly between two squares on the same ray.
+     * @param dir int direction index (0-7) leading from the first square to the second.
+     * @param from int square index of the first square.
+     * @param to int square index of the second square.
+     * @return long mask of the squares in between.
+     */
+    public static long between(int dir, int from, int to) {
+        return RAYS[dir * SIZE * SIZE + from] & ~RAYS[dir * SIZE * SIZE + to] & ~(1L << to);
+    }
+
+    /**
+     * Grows a set of squares by one step in all eight directions.
+     * @param squares long mask to grow.
+     * @return long mask of the squares plus every square touching one of them.
+     */
+    public static long dilate(long squares) {
+        long rows = squares | ((squares << 1) & NOT_FIRST_COLUMN) | ((squares >>> 1) & NOT_LAST_COLUMN);
+        return rows | (rows << SIZE) | (rows >>> SIZE);
+    }
+
+    /**
+     * Finds every piece connected (including diagonally) to a seed through other pieces.
+     * @param seed long mask of the starting squares, which should be part of pieces.
+     * @param pieces long mask of the pieces the group may spread through.
+     * @return long mask of the connected group.
+     */
+    public static long floodFill(long seed, long pieces) {
+        long group = seed & pieces;
+        while (true) {
+            long grown = dilate(group) & pieces;
+            if (grown == group) {
+                return group;
+            }
+            group = grown;
+        }
+    }
+
+    /**
+     * Checks whether a set of pieces forms a single connected group.
+     * @param pieces long mask of one color's pieces.
+     * @return boolean true if every piece is connected to every other, false if there are none.
+     */
+    public static boolean isConnected(long pieces) {
+        return pieces != 0 && floodFill(pieces & -pieces, pieces) == pieces;
+    }
+}
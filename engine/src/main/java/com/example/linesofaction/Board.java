@@ -0,0 +1,762 @@
+package com.example.linesofaction;
+import com.example.linesofaction.BoardObserver;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ArrayList;
+
+public class Board {
+    private static final int ROWS = 8;
+    private static final int COLS = 8;
+    private static final int INITIAL_UNDO_CAPACITY = 128;
+    private static final int CAPTURED_FLAG = 1 << 16;
+    private static final int WHITE_TO_MOVE_FLAG = 1 << 17;
+    private static final int BLACK_GROUPS_SHIFT = 18;
+    private static final int WHITE_GROUPS_SHIFT = 22;
+    // One bit per square (bit index = row * 8 + col) for each color
+    private long blackPieces;
+    private long whitePieces;
+    // Number of pieces on each row, column, diagonal (row - col + 7) and anti-diagonal (row + col)
+    private int[] rowCounts = new int[ROWS];
+    private int[] colCounts = new int[COLS];
+    private int[] diagonalCounts = new int[ROWS + COLS - 1];
+    private int[] antiDiagonalCounts = new int[ROWS + COLS - 1];
+    // Zobrist hash of the piece placement and side to move, kept current by every change
+    private long hash;
+    private char sideToMove = 'B';
+    // Number of connected groups of each color, see GroupTracker
+    private int blackGroups;
+    private int whiteGroups;
+    // Evaluation features per color (index 0 black, 1 white), kept current by placePiece/removePiece:
+    // sums of piece rows, columns and row^2 + col^2, and of the centralization weights of the squares
+    private int[] rowSums = new int[2];
+    private int[] colSums = new int[2];
+    private int[] squareSums = new int[2];
+    private int[] centralizationSums = new int[2];
+    // Quad counts per color at [color * QuadCounter.TYPES + type], see QuadCounter
+    private int[] quadCounts = new int[2 * QuadCounter.TYPES];
+    private List<BoardObserver> observers = new ArrayList<>();
+    private int lastStartRow = -1;
+    private int lastStartCol = -1;
+    private int lastEndRow = -1;
+    private int lastEndCol = -1;
+    // Undo stack for makeMove/unmakeMove: the packed move and the packed state it overwrote
+    private int[] undoMoves = new int[INITIAL_UNDO_CAPACITY];
+    private int[] undoStates = new int[INITIAL_UNDO_CAPACITY];
+    private long[] undoHashes = new long[INITIAL_UNDO_CAPACITY];
+    private int undoSize = 0;
+    /**
+     *Initializes the board and resets it to starting configuration.
+     */
+    public Board() {
+        initializeBoard();
+    }
+    /**
+     * Creates a copy of another board's position without its observers.
+     * @param other Board whose position is copied.
+     */
+    public Board(Board other) {
+        blackPieces = other.blackPieces;
+        whitePieces = other.whitePieces;
+        rowCounts = other.rowCounts.clone();
+        colCounts = other.colCounts.clone();
+        diagonalCounts = other.diagonalCounts.clone();
+        antiDiagonalCounts = other.antiDiagonalCounts.clone();
+        hash = other.hash;
+        sideToMove = other.sideToMove;
+        blackGroups = other.blackGroups;
+        whiteGroups = other.whiteGroups;
+        rowSums = other.rowSums.clone();
+        colSums = other.colSums.clone();
+        squareSums = other.squareSums.clone();
+        centralizationSums = other.centralizationSums.clone();
+        quadCounts = other.quadCounts.clone();
+        lastStartRow = other.lastStartRow;
+        lastStartCol = other.lastStartCol;
+        lastEndRow = other.lastEndRow;
+        lastEndCol = other.lastEndCol;
+    }
+    /**
+     * Replaces this board's position with another board's, keeping this board's observers, and notifies them.
+     * The undo stack is emptied, so earlier makeMove calls can no longer be taken back.
+     * @param other Board whose position is copied.
+     */
+    public void copyFrom(Board other) {
+        blackPieces = other.blackPieces;
+        whitePieces = other.whitePieces;
+        System.arraycopy(other.rowCounts, 0, rowCounts, 0, ROWS);
+        System.arraycopy(other.colCounts, 0, colCounts, 0, COLS);
+        System.arraycopy(other.diagonalCounts, 0, diagonalCounts, 0, diagonalCounts.length);
+        System.arraycopy(other.antiDiagonalCounts, 0, antiDiagonalCounts, 0, antiDiagonalCounts.length);
+        hash = other.hash;
+        sideToMove = other.sideToMove;
+        blackGroups = other.blackGroups;
+        whiteGroups = other.whiteGroups;
+        System.arraycopy(other.rowSums, 0, rowSums, 0, 2);
+        System.arraycopy(other.colSums, 0, colSums, 0, 2);
+        System.arraycopy(other.squareSums, 0, squareSums, 0, 2);
+        System.arraycopy(other.centralizationSums, 0, centralizationSums, 0, 2);
+        System.arraycopy(other.quadCounts, 0, quadCounts, 0, quadCounts.length);
+        lastStartRow = other.lastStartRow;
+        lastStartCol = other.lastStartCol;
+        lastEndRow = other.lastEndRow;
+        lastEndCol = other.lastEndCol;
+        undoSize = 0;
+        notifyObservers();
+    }
+    /**
+     * Adds an observer to the list of observers.
+     * @param observer BoardObserver to be added to notifications list.
+     */
+    public void addObserver(BoardObserver observer) {
+        observers.add(observer);
+    }
+
+    /**
+     * Notifies all registered observers of a change in the board's state.
+     */
+    private void notifyObservers() {
+        for (BoardObserver observer : observers) {
+            observer.onBoardChanged(this);
+        }
+    }
+    /**
+     * Initializes the board with a default layout and notifies observers.
+     */
+    public void initializeBoard() {
+        resetBoard();
+        notifyObservers();
+    }
+    /**
+     * Resets the board to its initial configuration and notifies observers.
+     */
+    public void resetBoard() {
+        // Black pieces along the top and bottom rows, white pieces along the left and right columns
+        blackPieces = Bitboards.INNER_TOP_ROW | Bitboards.INNER_BOTTOM_ROW;
+        whitePieces = Bitboards.INNER_LEFT_COLUMN | Bitboards.INNER_RIGHT_COLUMN;
+        undoSize = 0;
+        sideToMove = 'B';
+        recountLines();
+        hash = Zobrist.hash(blackPieces, whitePieces, false);
+        blackGroups = GroupTracker.countGroups(blackPieces);
+        whiteGroups = GroupTracker.countGroups(whitePieces);
+        recountFeatures();
+        notifyObservers();
+    }
+
+
+    /**
+     * Moves a piece from the start position to the end position if the move is valid.
+     * @param startRow int representing the starting row index.
+     * @param startCol int representing the starting column index.
+     * @param endRow int representing the ending row index.
+     * @param endCol int representing the ending column index.
+     * @param player char representing the player making the move.
+     * @return boolean true if the move was successful, false otherwise.
+     */
+    public boolean movePiece(int startRow, int startCol, int endRow, int endCol, char player) {
+            int start = Bitboards.square(startRow, startCol);
+            int end = Bitboards.square(endRow, endCol);
+            if (start != end) {
+                long startMask = 1L << start;
+                boolean movingBlack = (blackPieces & startMask) != 0;
+                boolean movingWhite = (whitePieces & startMask) != 0;
+                // Whatever stood on the destination is captured
+                removePieceAt(end);
+                if (movingBlack || movingWhite) {
+                    removeTrackedPiece(start, movingBlack);
+                    placeTrackedPiece(end, movingBlack);
+                    setSideToMove(movingBlack ? 'W' : 'B');
+                }
+            }
+            lastStartRow = startRow;
+            lastStartCol = startCol;
+            lastEndRow = endRow;
+            lastEndCol = endCol;
+            notifyObservers();
+            return true;
+
+    }
+
+    /**
+     * Plays a legal move for search without notifying observers; undo it with {@link #unmakeMove()}.
+     * @param move int packed move (see {@link Move}) whose from-square holds the moving piece.
+     */
+    public void makeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        boolean movingBlack = (blackPieces & (1L << from)) != 0;
+        boolean captures = ((movingBlack ? whitePieces : blackPieces) & (1L << to)) != 0;
+
+        if (undoSize == undoMoves.length) {
+            undoMoves = Arrays.copyOf(undoMoves, undoSize * 2);
+            undoStates = Arrays.copyOf(undoStates, undoSize * 2);
+            undoHashes = Arrays.copyOf(undoHashes, undoSize * 2);
+        }
+        undoMoves[undoSize] = move;
+        undoStates[undoSize] = packLastMove() | (captures ? CAPTURED_FLAG : 0) | (sideToMove == 'W' ? WHITE_TO_MOVE_FLAG : 0)
+                | (blackGroups << BLACK_GROUPS_SHIFT) | (whiteGroups << WHITE_GROUPS_SHIFT);
+        undoHashes[undoSize] = hash;
+        undoSize++;
+
+        if (captures) {
+            removeTrackedPiece(to, !movingBlack);
+        }
+        removeTrackedPiece(from, movingBlack);
+        placeTrackedPiece(to, movingBlack);
+        setSideToMove(movingBlack ? 'W' : 'B');
+        lastStartRow = Bitboards.row(from);
+        lastStartCol = Bitboards.col(from);
+        lastEndRow = Bitboards.row(to);
+        lastEndCol = Bitboards.col(to);
+    }
+
+    /**
+     * Takes back the most recent {@link #makeMove(int)}, restoring any captured piece, without notifying observers.
+     */
+    public void unmakeMove() {
+        undoSize--;
+        int move = undoMoves[undoSize];
+        int state = undoStates[undoSize];
+        int from = Move.from(move);
+        int to = Move.to(move);
+        boolean movingBlack = (blackPieces & (1L << to)) != 0;
+
+        removePiece(to, movingBlack);
+        placePiece(from, movingBlack);
+        if ((state & CAPTURED_FLAG) != 0) {
+            placePiece(to, !movingBlack);
+        }
+        sideToMove = (state & WHITE_TO_MOVE_FLAG) != 0 ? 'W' : 'B';
+        hash = undoHashes[undoSize];
+        blackGroups = (state >>> BLACK_GROUPS_SHIFT) & 0xF;
+        whiteGroups = (state >>> WHITE_GROUPS_SHIFT) & 0xF;
+        // Each last-move field was stored offset by one so that -1 fits in four bits
+        lastStartRow = (state & 0xF) - 1;
+        lastStartCol = ((state >>> 4) & 0xF) - 1;
+        lastEndRow = ((state >>> 8) & 0xF) - 1;
+        lastEndCol = ((state >>> 12) & 0xF) - 1;
+    }
+
+    private int packLastMove() {
+        return (lastStartRow + 1) | ((lastStartCol + 1) << 4) | ((lastEndRow + 1) << 8) | ((lastEndCol + 1) << 12);
+    }
+
+    /**
+     * Puts a piece on an empty square and updates the derived counters.
+     * @param square int square index (0-63).
+     * @param black boolean true for a black piece, false for white.
+     */
+    private void placePiece(int square, boolean black) {
+        if (black) {
+            blackPieces |= 1L << square;
+        } else {
+            whitePieces |= 1L << square;
+        }
+        hash ^= Zobrist.pieceKey(square, black);
+        updateLineCounts(Bitboards.row(square), Bitboards.col(square), 1);
+        updateFeatures(square, black, 1);
+    }
+
+    /**
+     * Takes a piece off its square and updates the derived counters.
+     * @param square int square index (0-63).
+     * @param black boolean true if the piece is black, false if white.
+     */
+    private void removePiece(int square, boolean black) {
+        if (black) {
+            blackPieces &= ~(1L << square);
+        } else {
+            whitePieces &= ~(1L << square);
+        }
+        hash ^= Zobrist.pieceKey(square, black);
+        updateLineCounts(Bitboards.row(square), Bitboards.col(square), -1);
+        updateFeatures(square, black, -1);
+    }
+
+    /**
+     * Puts a piece on an empty square and also updates its color's group count.
+     * @param square int square index (0-63).
+     * @param black boolean true for a black piece, false for white.
+     */
+    private void placeTrackedPiece(int square, boolean black) {
+        if (black) {
+            blackGroups = GroupTracker.afterAdd(blackPieces, square, blackGroups);
+        } else {
+            whiteGroups = GroupTracker.afterAdd(whitePieces, square, whiteGroups);
+        }
+        placePiece(square, black);
+    }
+
+    /**
+     * Takes a piece off its square and also updates its color's group count.
+     * @param square int square index (0-63).
+     * @param black boolean true if the piece is black, false if white.
+     */
+    private void removeTrackedPiece(int square, boolean black) {
+        removePiece(square, black);
+        if (black) {
+            blackGroups = GroupTracker.afterRemove(blackPieces, square, blackGroups);
+        } else {
+            whiteGroups = GroupTracker.afterRemove(whitePieces, square, whiteGroups);
+        }
+    }
+
+    /**
+     * Removes whichever piece stands on a square, if any.
+     * @param square int square index (0-63).
+     */
+    private void removePieceAt(int square) {
+        long mask = 1L << square;
+        if ((blackPieces & mask) != 0) {
+            removeTrackedPiece(square, true);
+        } else if ((whitePieces & mask) != 0) {
+            removeTrackedPiece(square, false);
+        }
+    }
+
+    /**
+     * Returns the piece present at the specified board location.
+     * @param row int specifying the row index.
+     * @param col int specifying the column index.
+     * @return char representing the piece at the specified location, or ' ' if invalid position.
+     */
+    public char getPieceAt(int row, int col) {
+        if (!isPositionValid(row, col)) {
+            return ' ';
+        }
+        long mask = Bitboards.squareMask(row, col);
+        if ((blackPieces & mask) != 0) {
+            return 'B';
+        }
+        return (whitePieces & mask) != 0 ? 'W' : '.';
+    }
+    /**
+     * Returns the bitboard of the given color's pieces.
+     * @param color char 'B' for black or 'W' for white.
+     * @return long with one bit set per occupied square (bit index = row * 8 + col), 0 for any other char.
+     */
+    public long getPieces(char color) {
+        if (color == 'B') {
+            return blackPieces;
+        }
+        return color == 'W' ? whitePieces : 0L;
+    }
+    /**
+     * Returns the bitboard of all occupied squares.
+     * @return long with one bit set per piece on the board.
+     */
+    public long getOccupied() {
+        return blackPieces | whitePieces;
+    }
+    /**
+     * Returns the 64-bit Zobrist hash of the piece placement and side to move.
+     * @return long position hash.
+     */
+    public long getHash() {
+        return hash;
+    }
+    /**
+     * Returns the number of connected groups (including diagonal contact) of one color.
+     * @param color char 'B' or 'W'.
+     * @return int group count, 0 if the color has no pieces.
+     */
+    public int getGroupCount(char color) {
+        return color == 'B' ? blackGroups : whiteGroups;
+    }
+    /**
+     * Checks whether all of a color's pieces form one connected group.
+     * @param color char 'B' or 'W'.
+     * @return boolean true if the color is connected.
+     */
+    public boolean isConnected(char color) {
+        return getGroupCount(color) == 1;
+    }
+    /**
+     * Returns the sum of the row indices of a color's pieces.
+     * @param color char 'B' or 'W'.
+     * @return int sum over the pieces of their row.
+     */
+    public int getRowSum(char color) {
+        return rowSums[color == 'B' ? 0 : 1];
+    }
+    /**
+     * Returns the sum of the column indices of a color's pieces.
+     * @param color char 'B' or 'W'.
+     * @return int sum over the pieces of their column.
+     */
+    public int getColumnSum(char color) {
+        return colSums[color == 'B' ? 0 : 1];
+    }
+    /**
+     * Returns the sum of row * row + col * col over a color's pieces, for the spread around their centre of mass.
+     * @param color char 'B' or 'W'.
+     * @return int sum of squared coordinates.
+     */
+    public int getSquareSum(char color) {
+        return squareSums[color == 'B' ? 0 : 1];
+    }
+    /**
+     * Returns the sum of the centralization weights of the squares a color occupies.
+     * @param color char 'B' or 'W'.
+     * @return int sum of Evaluator.centralization over the pieces.
+     */
+    public int getCentralizationSum(char color) {
+        return centralizationSums[color == 'B' ? 0 : 1];
+    }
+    /**
+     * Returns how many 2x2 windows of one type a color forms, counting windows over the board edge.
+     * @param color char 'B' or 'W'.
+     * @param type int QuadCounter.Q1, Q3, Q4 or QD.
+     * @return int number of such quads.
+     */
+    public int getQuadCount(char color, int type) {
+        return quadCounts[(color == 'B' ? 0 : QuadCounter.TYPES) + type];
+    }
+    /**
+     * Returns the Euler number (groups minus holes, with diagonal contact) of a color from its quad counts.
+     * @param color char 'B' or 'W'.
+     * @return int (Q1 - Q3 - 2 * QD) / 4.
+     */
+    public int getEulerNumber(char color) {
+        int offset = color == 'B' ? 0 : QuadCounter.TYPES;
+        return (quadCounts[offset + QuadCounter.Q1] - quadCounts[offset + QuadCounter.Q3]
+                - 2 * quadCounts[offset + QuadCounter.QD]) / 4;
+    }
+    /**
+     * Returns a lower bound on a color's group count: the Euler number, since holes only add groups to it.
+     * @param color char 'B' or 'W'.
+     * @return int at most getGroupCount(color); above 1 means the color is certainly not connected.
+     */
+    public int getMinimumGroupCount(char color) {
+        return Math.max(getEulerNumber(color), 0);
+    }
+    /**
+     * Returns the color whose turn it is; movePiece and makeMove hand the turn to the other color.
+     * @return char 'B' or 'W'.
+     */
+    public char getSideToMove() {
+        return sideToMove;
+    }
+    /**
+     * Sets the color whose turn it is, e.g. after loading a saved position.
+     * @param color char 'B' or 'W'.
+     */
+    public void setSideToMove(char color) {
+        if ((color == 'W') != (sideToMove == 'W')) {
+            hash ^= Zobrist.WHITE_TO_MOVE;
+        }
+        sideToMove = color == 'W' ? 'W' : 'B';
+    }
+    /**
+     * Returns the number of pieces of either color on the line through a square.
+     * @param row int specifying the row index of a square on the line.
+     * @param col int specifying the column index of a square on the line.
+     * @param dRow int row step of the line (-1, 0 or 1).
+     * @param dCol int column step of the line (-1, 0 or 1).
+     * @return int count of pieces on the whole line, including the square itself.
+     */
+    public int getLineCount(int row, int col, int dRow, int dCol) {
+        if (dRow == 0) {
+            return rowCounts[row];
+        }
+        if (dCol == 0) {
+            return colCounts[col];
+        }
+        return dRow == dCol ? diagonalCounts[row - col + COLS - 1] : antiDiagonalCounts[row + col];
+    }
+    /**
+     * Adjusts the counters of the row, column and both diagonals through a square.
+     * @param row int specifying the row index.
+     * @param col int specifying the column index.
+     * @param delta int +1 when a piece arrives on an empty square, -1 when one leaves.
+     */
+    private void updateLineCounts(int row, int col, int delta) {
+        rowCounts[row] += delta;
+        colCounts[col] += delta;
+        diagonalCounts[row - col + COLS - 1] += delta;
+        antiDiagonalCounts[row + col] += delta;
+    }
+    /**
+     * Rebuilds every line counter from the bitboards.
+     */
+    private void recountLines() {
+        long occupied = blackPieces | whitePieces;
+        for (int i = 0; i < ROWS; i++) {
+            rowCounts[i] = Long.bitCount(occupied & Bitboards.rowMask(i));
+        }
+        for (int i = 0; i < COLS; i++) {
+            colCounts[i] = Long.bitCount(occupied & Bitboards.columnMask(i));
+        }
+        for (int i = 0; i < ROWS + COLS - 1; i++) {
+            diagonalCounts[i] = Long.bitCount(occupied & Bitboards.diagonalMask(i));
+            antiDiagonalCounts[i] = Long.bitCount(occupied & Bitboards.antiDiagonalMask(i));
+        }
+    }
+    /**
+     * Adjusts the evaluation features of one color for a piece arriving on or leaving a square.
+     * @param square int square index (0-63).
+     * @param black boolean true if the piece is black, false if white.
+     * @param delta int +1 when the piece arrives, -1 when it leaves.
+     */
+    private void updateFeatures(int square, boolean black, int delta) {
+        int color = black ? 0 : 1;
+        int row = Bitboards.row(square);
+        int col = Bitboards.col(square);
+        rowSums[color] += delta * row;
+        colSums[color] += delta * col;
+        squareSums[color] += delta * (row * row + col * col);
+        centralizationSums[color] += delta * Evaluator.centralization(square);
+        QuadCounter.update(quadCounts, color * QuadCounter.TYPES, black ? blackPieces : whitePieces, square, delta);
+    }
+    /**
+     * Rebuilds every evaluation feature from the bitboards.
+     */
+    private void recountFeatures() {
+        for (int color = 0; color < 2; color++) {
+            long pieces = color == 0 ? blackPieces : whitePieces;
+            rowSums[color] = 0;
+            colSums[color] = 0;
+            squareSums[color] = 0;
+            centralizationSums[color] = 0;
+            for (long bits = pieces; bits != 0; bits &= bits - 1) {
+                int square = Long.numberOfTrailingZeros(bits);
+                int row = Bitboards.row(square);
+                int col = Bitboards.col(square);
+                rowSums[color] += row;
+                colSums[color] += col;
+                squareSums[color] += row * row + col * col;
+                centralizationSums[color] += Evaluator.centralization(square);
+            }
+            QuadCounter.countQuads(pieces, quadCounts, color * QuadCounter.TYPES);
+        }
+    }
+    /**
+     * Validates whether the specified position is within the board bounds.
+     * @param row int specifying the row index.
+     * @param col int specifying the column index.
+     * @return boolean true if the position is valid, false otherwise.
+     */
+    public boolean isPositionValid(int row, int col) {
+        return row >= 0 && row < ROWS && col >= 0 && col < COLS;
+    }
+    /**
+     * Removes an observer from the list of observers.
+     * @param observer BoardObserver to be removed from notifications list.
+     */
+    public void removeObserver(BoardObserver observer) {
+        observers.remove(observer);
+    }
+    /**
+     * Displays the current state of the board on the console.
+     */
+    public void displayBoard() {
+        System.out.print(toDisplayString());
+    }
+    /**
+     * Returns the board as text, one line per row, as displayBoard prints it.
+     * @return String starting with "Current Board State:".
+     */
+    public String toDisplayString() {
+        StringBuilder text = new StringBuilder("Current Board State:\n");
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                text.append(getPieceAt(row, col)).append(' ');
+            }
+            text.append('\n'); // Move to the next line after all columns in a row
+        }
+        return text.toString();
+    }
+    /**
+     * Counts the number of black and white pieces on the board.
+     * @return int[] where the first element is the count of black pieces and the second is the count of white pieces.
+     */
+    public int[] countPiecesByColor() {
+        return new int[] {Long.bitCount(blackPieces), Long.bitCount(whitePieces)};
+    }
+    /**
+     * Removes every piece from the board without notifying observers.
+     */
+    private void clearBoard() {
+        blackPieces = 0L;
+        whitePieces = 0L;
+        undoSize = 0;
+        sideToMove = 'B';
+        hash = 0L;
+        blackGroups = 0;
+        whiteGroups = 0;
+        recountLines();
+        recountFeatures();
+    }
+    /**
+     * Places a piece on an empty square without notifying observers.
+     * @param row int specifying the row index.
+     * @param col int specifying the column index.
+     * @param piece char 'B' or 'W'.
+     */
+    private void setPiece(int row, int col, char piece) {
+        if (piece == 'B' || piece == 'W') {
+            placeTrackedPiece(Bitboards.square(row, col), piece == 'B');
+        }
+    }
+    /**
+     * sets up case 1 board
+     */
+    public void case1Board() {
+        // empty board
+        clearBoard();
+
+        setPiece(1, 0, 'W');
+
+        setPiece(2, 0, 'B');
+        setPiece(2, 1, 'B');
+        setPiece(2, 2, 'B');
+
+        setPiece(3, 0, 'B');
+        setPiece(3, 2, 'W');
+        setPiece(3, 5, 'B');
+
+        setPiece(4, 0, 'W');
+        setPiece(4, 3, 'B');
+        setPiece(4, 4, 'B');
+
+        setPiece(5, 1, 'B');
+        setPiece(5, 2, 'W');
+        setPiece(5, 3, 'B');
+        setPiece(5, 5, 'W');
+        setPiece(5, 6, 'W');
+
+        setPiece(6, 7, 'W');
+
+        //notify observers
+        notifyObservers();
+    }
+
+    /**
+     * sets up case 2 board
+     */
+    public void case2Board(){
+        //empty board
+        clearBoard();
+        setPiece(1, 0, 'W');
+
+        setPiece(2, 0, 'B');
+        setPiece(2, 1, 'B');
+        setPiece(2, 2, 'B');
+
+        setPiece(3, 0, 'B');
+        setPiece(3, 2, 'W');
+        setPiece(3, 5, 'B');
+
+        setPiece(4, 0, 'W');
+        setPiece(4, 3, 'B');
+        setPiece(4, 4, 'B');
+
+        setPiece(5, 1, 'B');
+        setPiece(5, 2, 'W');
+        setPiece(5, 3, 'B');
+        setPiece(5, 5, 'W');
+        setPiece(5, 6, 'W');
+
+        setPiece(6, 7, 'W');
+
+        //notify observers
+        notifyObservers();
+    }
+    /**
+     * sets up case 3 board
+     */
+    public void case3Board() {
+        // empty board
+        clearBoard();
+
+        setPiece(1, 0, 'W');
+
+        setPiece(2, 0, 'B');
+        setPiece(2, 1, 'B');
+        setPiece(2, 2, 'B');
+
+        setPiece(3, 0, 'B');
+        setPiece(3, 2, 'B');
+
+        setPiece(4, 0, 'W');
+        setPiece(4, 3, 'B');
+        setPiece(4, 4, 'B');
+        setPiece(4, 5, 'W');
+
+        setPiece(5, 1, 'B');
+        setPiece(5, 2, 'W');
+        setPiece(5, 3, 'B');
+        setPiece(5, 5, 'W');
+        setPiece(5, 6, 'W');
+        //notify observers
+
+        notifyObservers();
+    }
+    /**
+     * sets up case 4 board
+     */
+    public void case4Board() {
+        // empty board
+        clearBoard();
+        setPiece(1, 0, 'W');
+
+        setPiece(2, 0, 'B');
+        setPiece(2, 1, 'B');
+        setPiece(2, 2, 'B');
+
+        setPiece(3, 0, 'B');
+        setPiece(3, 2, 'B');
+
+        setPiece(4, 0, 'W');
+        setPiece(4, 3, 'B');
+        setPiece(4, 4, 'B');
+        setPiece(4, 5, 'W');
+
+        setPiece(5, 1, 'B');
+        setPiece(5, 2, 'W');
+        setPiece(5, 3, 'B');
+        setPiece(5, 5, 'W');
+        setPiece(5, 6, 'W');
+
+        //notify observers
+        notifyObservers();
+    }
+    /**
+     * sets up case 5 board
+     */
+    public void case5Board() {
+        //emptying board
+        clearBoard();
+
+        //setting up pieces according to the specified layout:
+        setPiece(0, 3, 'W');
+
+        setPiece(1, 0, 'W');
+        setPiece(1, 2, 'B');
+
+
+        setPiece(2, 0, 'B');
+        setPiece(2, 1, 'B');
+
+        setPiece(3, 0, 'B');
+        setPiece(3, 1, 'B');
+        setPiece(3, 5, 'B');
+
+        setPiece(4, 0, 'W');
+        setPiece(4, 3, 'B');
+        setPiece(4, 4, 'B');
+        setPiece(4, 5, 'W');
+
+        setPiece(5, 3, 'B');
+        setPiece(5, 5, 'W');
+        setPiece(5, 6, 'W');
+        setPiece(5, 7, 'W');
+        //notify observers
+        notifyObservers();
+    }
+
+
+}
+
+
+
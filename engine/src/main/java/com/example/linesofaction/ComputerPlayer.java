@@ -0,0 +1,169 @@
+package com.example.linesofaction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.List;
+import com.example.linesofaction.Rules.Pair;
+import com.example.linesofaction.util.Logger;
+
+public class ComputerPlayer extends Player {
+    private MoveList possibleMoves;
+    private MoveStrategy strategy;
+    private OpeningBook openingBook;
+    private PositionDatabase positionDatabase;
+    private int databaseMinVisits;
+    private Pair<Integer, Integer> moveStart;
+    private Pair<Integer, Integer> moveEnd;
+
+    private static Map<Integer, Character> indexToCol = new HashMap<>();
+    private static Map<Character, Integer> colToIndex = new HashMap<>();
+
+    static {
+        indexToCol.put(0, 'A');
+        indexToCol.put(1, 'B');
+        indexToCol.put(2, 'C');
+        indexToCol.put(3, 'D');
+        indexToCol.put(4, 'E');
+        indexToCol.put(5, 'F');
+        indexToCol.put(6, 'G');
+        indexToCol.put(7, 'H');
+
+        colToIndex.put('A', 0);
+        colToIndex.put('B', 1);
+        colToIndex.put('C', 2);
+        colToIndex.put('D', 3);
+        colToIndex.put('E', 4);
+        colToIndex.put('F', 5);
+        colToIndex.put('G', 6);
+        colToIndex.put('H', 7);
+    }
+
+    /**
+     * Creates a computer player that picks a random legal move, which returns instantly.
+     * @param name The name of the player.
+     */
+    public ComputerPlayer(String name) {
+        this(name, new RandomMoveStrategy());
+    }
+
+    /**
+     * Creates a computer player that chooses its moves with a strategy.
+     * getNextMove and Round.nextMove run the strategy on the calling thread, so a search such as
+     * new AlphaBetaSearch(6, 500) blocks that thread for up to its time budget on every computer turn;
+     * UI callers should make those calls off the UI thread.
+     * @param name The name of the player.
+     * @param strategy MoveStrategy used to choose moves.
+     */
+    public ComputerPlayer(String name, MoveStrategy strategy) {
+        super(name);
+        this.possibleMoves = new MoveList();
+        this.strategy = strategy;
+    }
+
+    public MoveStrategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(MoveStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Lets the player play book moves in the opening instead of searching.
+     * @param openingBook OpeningBook to consult first, or null for none.
+     */
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    /**
+     * Lets the player take a move from a position database before searching.
+     * @param positionDatabase PositionDatabase to consult, or null to always search.
+     * @param minVisits int times a position must have been reached in the recorded games for its best move to be trusted.
+     */
+    public void setPositionDatabase(PositionDatabase positionDatabase, int minVisits) {
+        this.positionDatabase = positionDatabase;
+        this.databaseMinVisits = minVisits;
+    }
+
+    public void generateAllPossibleMoves(Board board) {
+        MoveGenerator.generateMoves(board, this.getPieceType(), possibleMoves);
+    }
+
+    public MoveList getPossibleMoves() {
+        return possibleMoves;
+    }
+
+    public void displayPossibleMoves() {
+        Logger.flushBeforeConsole();
+        System.out.println("Possible Moves:");
+        for (int i = 0; i < possibleMoves.size(); i++) {
+            int move = possibleMoves.get(i);
+            System.out.print(Move.toNotation(move));
+            if (Move.isCapture(move)) {
+                System.out.print(" with captures at: " + properNotation(toPair(Move.to(move))) + " ");
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Chooses a move for this player's pieces: a book move, else the position database's move, else a search.
+     * @param board The game board, with this player to move.
+     * @return int packed move, or {@link Move#NONE} if the player has no legal move.
+     */
+    public int chooseMove(Board board) {
+        int selectedMove = Move.NONE;
+        if (openingBook != null) {
+            selectedMove = openingBook.probe(board, this.getPieceType());
+        }
+        if (selectedMove == Move.NONE && positionDatabase != null) {
+            selectedMove = positionDatabase.probe(board, this.getPieceType(), databaseMinVisits);
+        }
+        if (selectedMove == Move.NONE) {
+            selectedMove = strategy.selectMove(board, this.getPieceType());
+        }
+        return selectedMove;
+    }
+
+    public Pair<Pair<Integer, Integer>, Pair<Integer, Integer>> getNextMove(Board board) {
+        generateAllPossibleMoves(board);
+
+        int selectedMove = chooseMove(board);
+        if (selectedMove != Move.NONE) {
+            moveStart = toPair(Move.from(selectedMove));
+            moveEnd = toPair(Move.to(selectedMove));
+            return new Pair<>(moveStart, moveEnd);
+        }
+
+        return null;
+    }
+
+    public Pair<Integer, Integer> getMoveStart() {
+        return moveStart;
+    }
+
+    public Pair<Integer, Integer> getMoveEnd() {
+        return moveEnd;
+    }
+
+    public List<Pair<Integer, Integer>> getCapturesForMove(Pair<Integer, Integer> start, Pair<Integer, Integer> end) {
+        List<Pair<Integer, Integer>> capturePositions = new ArrayList<>();
+        int move = possibleMoves.find(Bitboards.square(start.getFirst(), start.getSecond()), Bitboards.square(end.getFirst(), end.getSecond()));
+        if (Move.isCapture(move)) {
+            capturePositions.add(end);
+        }
+        return capturePositions;
+    }
+
+    public String properNotation(Pair<Integer, Integer> position) {
+        char columnLetter = indexToCol.get(position.getSecond());
+        int rowNumber = 8 - position.getFirst();  // Adjusted for 1-based row numbering from 8
+        return "" + columnLetter + rowNumber;
+    }
+
+    private static Pair<Integer, Integer> toPair(int square) {
+        return new Pair<>(Bitboards.row(square), Bitboards.col(square));
+    }
+}
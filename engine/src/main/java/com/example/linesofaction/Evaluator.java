@@ -0,0 +1,76 @@
+package com.example.linesofaction;
+
+/**
+ * Static evaluation of a position for search. Every term but mobility is read from features the
+ * {@link Board} keeps current as pieces move, so a leaf costs a few lookups instead of a board scan:
+ * fewer groups, tighter clusters, central pieces, solid 2x2 blocks and more legal moves are better.
+ */
+public final class Evaluator {
+    private static final int GROUP_WEIGHT = 40;
+    private static final int CONCENTRATION_WEIGHT = 4;
+    private static final int CENTRALIZATION_WEIGHT = 1;
+    private static final int QUAD_WEIGHT = 4;
+    private static final int MOBILITY_WEIGHT = 1;
+
+    // Piece-square weights: corners and edges are poor squares, the centre is good
+    private static final int[] CENTRALIZATION = {
+            -80, -25, -20, -20, -20, -20, -25, -80,
+            -25,  10,  10,  10,  10,  10,  10, -25,
+            -20,  10,  25,  25,  25,  25,  10, -20,
+            -20,  10,  25,  50,  50,  25,  10, -20,
+            -20,  10,  25,  50,  50,  25,  10, -20,
+            -20,  10,  25,  25,  25,  25,  10, -20,
+            -25,  10,  10,  10,  10,  10,  10, -25,
+            -80, -25, -20, -20, -20, -20, -25, -80
+    };
+
+    private Evaluator() {
+    }
+
+    /**
+     * Returns the centralization weight of a square; Board keeps the sum of these per color.
+     * @param square int square index (0-63).
+     * @return int weight, higher towards the centre.
+     */
+    public static int centralization(int square) {
+        return CENTRALIZATION[square];
+    }
+
+    /**
+     * Scores a position from one side's point of view.
+     * @param board The game board.
+     * @param side char 'B' or 'W'.
+     * @return int score, positive when side stands better.
+     */
+    public static int evaluate(Board board, char side) {
+        char opponent = side == 'B' ? 'W' : 'B';
+        return score(board, side) - score(board, opponent);
+    }
+
+    private static int score(Board board, char color) {
+        int count = Long.bitCount(board.getPieces(color));
+        if (count == 0) {
+            return 0;
+        }
+        int solidQuads = board.getQuadCount(color, QuadCounter.Q3) + board.getQuadCount(color, QuadCounter.Q4);
+        return -GROUP_WEIGHT * (board.getGroupCount(color) - 1)
+                - CONCENTRATION_WEIGHT * spread(board, color, count)
+                + CENTRALIZATION_WEIGHT * board.getCentralizationSum(color) / count
+                + QUAD_WEIGHT * solidQuads
+                + MOBILITY_WEIGHT * MoveGenerator.countMoves(board, color);
+    }
+
+    /**
+     * Returns the mean squared distance of the pieces from their centre of mass, in sixteenths of a square.
+     */
+    private static int spread(Board board, char color, int count) {
+        if (count < 2) {
+            return 0;
+        }
+        int sumRow = board.getRowSum(color);
+        int sumCol = board.getColumnSum(color);
+        // sum((x - mean)^2) = sum(x^2) - (sum x)^2 / n, per axis
+        int scaledVariance = count * board.getSquareSum(color) - sumRow * sumRow - sumCol * sumCol;
+        return 16 * scaledVariance / (count * count);
+    }
+}
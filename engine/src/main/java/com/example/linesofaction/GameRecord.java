@@ -0,0 +1,152 @@
+package com.example.linesofaction;
+
+import java.util.Arrays;
+
+/**
+ * One finished or abandoned game: who played which color, the starting setup, the result and the
+ * moves in order. Moves are kept as 12-bit packed moves (see {@link Move}) without the capture flag,
+ * which replaying recovers from the board. {@link GameRecordWriter} and {@link GameRecordReader}
+ * store records in a compact binary file.
+ */
+public final class GameRecord {
+    // Setup 0 is the standard start from Board.resetBoard; 1-5 are the Board.caseNBoard positions
+    public static final int STANDARD_SETUP = 0;
+    public static final int MAX_SETUP = 5;
+    public static final char DRAW = 'D';
+    // The game stopped before either side connected, e.g. the players quit
+    public static final char UNFINISHED = '-';
+
+    static final int MOVE_MASK = 0xFFF;
+
+    private final String black;
+    private final String white;
+    private final int setup;
+    private final char result;
+    private final int[] moves;
+
+    /**
+     * @param black String name of the player with the black pieces.
+     * @param white String name of the player with the white pieces.
+     * @param setup int starting setup, {@link #STANDARD_SETUP} or 1-5 for the Board case positions.
+     * @param result char 'B' or 'W' for the winning color, {@link #DRAW} or {@link #UNFINISHED}.
+     * @param moves int[] packed moves in the order played; copied, and the capture flag is dropped.
+     * @param moveCount int number of moves to take from the array.
+     */
+    public GameRecord(String black, String white, int setup, char result, int[] moves, int moveCount) {
+        if (setup < STANDARD_SETUP || setup > MAX_SETUP) {
+            throw new IllegalArgumentException("Unknown board setup: " + setup);
+        }
+        if (result != 'B' && result != 'W' && result != DRAW && result != UNFINISHED) {
+            throw new IllegalArgumentException("Unknown game result: " + result);
+        }
+        this.black = black;
+        this.white = white;
+        this.setup = setup;
+        this.result = result;
+        this.moves = new int[moveCount];
+        for (int i = 0; i < moveCount; i++) {
+            this.moves[i] = moves[i] & MOVE_MASK;
+        }
+    }
+
+    /**
+     * @return String name of the player with the black pieces.
+     */
+    public String getBlack() {
+        return black;
+    }
+
+    /**
+     * @return String name of the player with the white pieces.
+     */
+    public String getWhite() {
+        return white;
+    }
+
+    /**
+     * @return int starting setup, {@link #STANDARD_SETUP} or 1-5.
+     */
+    public int getSetup() {
+        return setup;
+    }
+
+    /**
+     * @return char 'B' or 'W' for the winning color, {@link #DRAW} or {@link #UNFINISHED}.
+     */
+    public char getResult() {
+        return result;
+    }
+
+    /**
+     * @return int number of moves played.
+     */
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    /**
+     * @param index int ply, starting at 0.
+     * @return int packed move without the capture flag.
+     */
+    public int getMove(int index) {
+        return moves[index];
+    }
+
+    /**
+     * @return int[] copy of the packed moves.
+     */
+    public int[] getMoves() {
+        return Arrays.copyOf(moves, moves.length);
+    }
+
+    /**
+     * Sets up a board in the position the game started from.
+     * @param setup int starting setup, {@link #STANDARD_SETUP} or 1-5.
+     * @return Board in that position.
+     */
+    public static Board createBoard(int setup) {
+        Board board = new Board();
+        switch (setup) {
+            case 1:
+                board.case1Board();
+                break;
+            case 2:
+                board.case2Board();
+                break;
+            case 3:
+                board.case3Board();
+                break;
+            case 4:
+                board.case4Board();
+                break;
+            case 5:
+                board.case5Board();
+                break;
+            default:
+                board.resetBoard();
+                break;
+        }
+        return board;
+    }
+
+    /**
+     * Replays the first plies of the game on a fresh board. The moving color of each ply is the
+     * color standing on its from-square, so setups where white starts replay correctly too.
+     * @param plies int number of moves to play, at most {@link #getMoveCount()}.
+     * @return Board in the position after those moves, with the side to move set.
+     */
+    public Board replay(int plies) {
+        Board board = createBoard(setup);
+        for (int i = 0; i < plies; i++) {
+            board.makeMove(moves[i]);
+        }
+        return board;
+    }
+
+    /**
+     * @return Board in the final position of the game.
+     */
+    public Board replay() {
+        return replay(moves.length);
+    }
+}
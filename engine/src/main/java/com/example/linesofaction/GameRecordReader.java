@@ -0,0 +1,224 @@
+package com.example.linesofaction;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the records written by {@link GameRecordWriter} one after another. Records are parsed straight
+ * out of a large buffer, and player names seen in the previous record reuse its strings, so a
+ * scan costs little more than the disk read; {@link #skip()} steps over a record without decoding it.
+ */
+public class GameRecordReader implements Closeable {
+    // Room for the largest possible record, so a whole record is always in the buffer once read
+    private static final int BUFFER_BYTES = 1 << 17;
+    // Setup, result, move count and the two name lengths
+    private static final int MIN_RECORD_BYTES = 6;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_BYTES];
+    private int position;
+    private int limit;
+    private int[] moves = new int[128];
+    // The two most recently decoded names; self-play files repeat the same two players with colors swapping
+    private final byte[][] cachedNameBytes = new byte[2][];
+    private final String[] cachedNames = new String[2];
+    private int nextCacheSlot;
+
+    /**
+     * @param in InputStream positioned at the start of a record stream; read through the reader's own buffer.
+     * @throws IOException if the file header is missing or has an unsupported version.
+     */
+    public GameRecordReader(InputStream in) throws IOException {
+        this.in = in;
+        readFileHeader(in);
+    }
+
+    /**
+     * Opens a record file for reading from the first game.
+     * @param file File written by {@link GameRecordWriter}.
+     * @return GameRecordReader for the file.
+     * @throws IOException if the file cannot be opened or is not a game record file.
+     */
+    public static GameRecordReader open(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            return new GameRecordReader(in);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads and checks the magic and version at the start of a record stream.
+     */
+    static void readFileHeader(InputStream in) throws IOException {
+        byte[] header = new byte[GameRecordWriter.FILE_HEADER_BYTES];
+        int read = 0;
+        while (read < header.length) {
+            int n = in.read(header, read, header.length - read);
+            if (n < 0) {
+                throw new IOException("Not a game record file: header is missing");
+            }
+            read += n;
+        }
+        for (int i = 0; i < GameRecordWriter.MAGIC.length; i++) {
+            if (header[i] != GameRecordWriter.MAGIC[i]) {
+                throw new IOException("Not a game record file");
+            }
+        }
+        int version = header[GameRecordWriter.MAGIC.length] & 0xFF;
+        if (version != GameRecordWriter.VERSION) {
+            throw new IOException("Unsupported game record version: " + version);
+        }
+    }
+
+    /**
+     * Reads the next record.
+     * @return GameRecord, or null at the end of the stream.
+     * @throws IOException if reading fails or the stream ends inside a record.
+     */
+    public GameRecord next() throws IOException {
+        int length = nextRecordLength();
+        if (length < 0) {
+            return null;
+        }
+        int pos = position;
+        int end = pos + length;
+        int setup = buffer[pos++] & 0xFF;
+        char result = (char) (buffer[pos++] & 0xFF);
+        int moveCount = ((buffer[pos] & 0xFF) << 8) | (buffer[pos + 1] & 0xFF);
+        pos += 2;
+        int blackLength = buffer[pos++] & 0xFF;
+        if (pos + blackLength + 1 > end) {
+            throw new IOException("Corrupt game record: name runs past the record");
+        }
+        String black = name(pos, blackLength);
+        pos += blackLength;
+        int whiteLength = buffer[pos++] & 0xFF;
+        if (pos + whiteLength > end) {
+            throw new IOException("Corrupt game record: name runs past the record");
+        }
+        String white = name(pos, whiteLength);
+        pos += whiteLength;
+        if (end - pos != (moveCount * 3 + 1) / 2) {
+            throw new IOException("Corrupt game record: move count does not match its length");
+        }
+
+        if (moves.length < moveCount) {
+            moves = new int[Math.max(moveCount, moves.length * 2)];
+        }
+        int i = 0;
+        for (; i + 1 < moveCount; i += 2) {
+            int b0 = buffer[pos++] & 0xFF;
+            int b1 = buffer[pos++] & 0xFF;
+            int b2 = buffer[pos++] & 0xFF;
+            moves[i] = (b0 << 4) | (b1 >>> 4);
+            moves[i + 1] = ((b1 & 0xF) << 8) | b2;
+        }
+        if (i < moveCount) {
+            moves[i] = ((buffer[pos] & 0xFF) << 4) | ((buffer[pos + 1] & 0xFF) >>> 4);
+        }
+        position = end;
+        try {
+            return new GameRecord(black, white, setup, result, moves, moveCount);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt game record: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Steps over the next record without decoding it.
+     * @return boolean false at the end of the stream.
+     * @throws IOException if reading fails or the stream ends inside a record.
+     */
+    public boolean skip() throws IOException {
+        int length = nextRecordLength();
+        if (length < 0) {
+            return false;
+        }
+        position += length;
+        return true;
+    }
+
+    /**
+     * Reads the length prefix of the next record and makes sure the whole record is buffered.
+     * @return int length of the record after the prefix, or -1 at the end of the stream.
+     */
+    private int nextRecordLength() throws IOException {
+        if (!fill(2)) {
+            if (position == limit) {
+                return -1;
+            }
+            throw new EOFException("Game record file ends inside a record");
+        }
+        int length = ((buffer[position] & 0xFF) << 8) | (buffer[position + 1] & 0xFF);
+        position += 2;
+        if (length < MIN_RECORD_BYTES) {
+            throw new IOException("Corrupt game record: length " + length + " is too short");
+        }
+        if (!fill(length)) {
+            throw new EOFException("Game record file ends inside a record");
+        }
+        return length;
+    }
+
+    /**
+     * Makes at least the given number of bytes available from the current position.
+     * @return boolean false if the stream ends first.
+     */
+    private boolean fill(int bytes) throws IOException {
+        if (limit - position >= bytes) {
+            return true;
+        }
+        System.arraycopy(buffer, position, buffer, 0, limit - position);
+        limit -= position;
+        position = 0;
+        while (limit < bytes) {
+            int n = in.read(buffer, limit, buffer.length - limit);
+            if (n < 0) {
+                return false;
+            }
+            limit += n;
+        }
+        return true;
+    }
+
+    /**
+     * Decodes a player name, reusing a cached string when the bytes match a recently decoded name.
+     */
+    private String name(int pos, int length) {
+        for (int slot = 0; slot < cachedNames.length; slot++) {
+            byte[] cached = cachedNameBytes[slot];
+            if (cached != null && cached.length == length && matches(cached, pos)) {
+                return cachedNames[slot];
+            }
+        }
+        byte[] bytes = new byte[length];
+        System.arraycopy(buffer, pos, bytes, 0, length);
+        int slot = nextCacheSlot;
+        nextCacheSlot = (nextCacheSlot + 1) % cachedNames.length;
+        cachedNameBytes[slot] = bytes;
+        cachedNames[slot] = new String(bytes, StandardCharsets.UTF_8);
+        return cachedNames[slot];
+    }
+
+    private boolean matches(byte[] name, int pos) {
+        for (int i = 0; i < name.length; i++) {
+            if (name[i] != buffer[pos + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
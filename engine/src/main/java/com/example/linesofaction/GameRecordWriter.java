@@ -0,0 +1,137 @@
+package com.example.linesofaction;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Appends game records to a binary stream. The stream starts with the 4-byte magic "LOAG" and a
+ * version byte, followed by records laid out as (multi-byte fields big-endian):
+ * <pre>
+ *   u16  length of the rest of the record, so readers can skip it
+ *   u8   setup
+ *   u8   result ('B', 'W', 'D' or '-')
+ *   u16  number of moves
+ *   u8   length of the black player's name, then the name in UTF-8
+ *   u8   length of the white player's name, then the name in UTF-8
+ *   ...  moves at 12 bits each, two moves per three bytes, the last odd move padded to two bytes
+ * </pre>
+ * A typical 60-ply game takes about 100 bytes. Writes are synchronized, so one writer can be shared.
+ */
+public class GameRecordWriter implements Closeable, Flushable {
+    static final byte[] MAGIC = {'L', 'O', 'A', 'G'};
+    static final int VERSION = 1;
+    static final int FILE_HEADER_BYTES = MAGIC.length + 1;
+    static final int MAX_RECORD_BYTES = 0xFFFF;
+    static final int MAX_NAME_BYTES = 0xFF;
+
+    private final OutputStream out;
+    private byte[] buffer = new byte[256];
+
+    /**
+     * Starts a new record stream, writing the file header.
+     * @param out OutputStream to write to; buffered by the writer.
+     * @throws IOException if the header cannot be written.
+     */
+    public GameRecordWriter(OutputStream out) throws IOException {
+        this(out, true);
+    }
+
+    private GameRecordWriter(OutputStream out, boolean writeHeader) throws IOException {
+        this.out = new BufferedOutputStream(out, 1 << 16);
+        if (writeHeader) {
+            this.out.write(MAGIC);
+            this.out.write(VERSION);
+        }
+    }
+
+    /**
+     * Opens a record file for appending, creating it with a header if it is missing or empty.
+     * @param file File to append to.
+     * @return GameRecordWriter positioned at the end of the file.
+     * @throws IOException if the file cannot be opened or is not a game record file.
+     */
+    public static GameRecordWriter append(File file) throws IOException {
+        boolean empty = !file.exists() || file.length() == 0;
+        if (!empty) {
+            try (InputStream in = new FileInputStream(file)) {
+                GameRecordReader.readFileHeader(in);
+            }
+        }
+        return new GameRecordWriter(new FileOutputStream(file, true), empty);
+    }
+
+    /**
+     * Appends one record.
+     * @param record GameRecord to store.
+     * @throws IOException if writing fails.
+     * @throws IllegalArgumentException if a name is longer than 255 UTF-8 bytes or the game is too long for the format.
+     */
+    public synchronized void write(GameRecord record) throws IOException {
+        byte[] black = encodeName(record.getBlack());
+        byte[] white = encodeName(record.getWhite());
+        int moveCount = record.getMoveCount();
+        int length = 6 + black.length + white.length + (moveCount * 3 + 1) / 2;
+        if (length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Game of " + moveCount + " moves is too long to record");
+        }
+        if (buffer.length < length + 2) {
+            buffer = new byte[Math.max(length + 2, buffer.length * 2)];
+        }
+
+        int pos = 0;
+        buffer[pos++] = (byte) (length >>> 8);
+        buffer[pos++] = (byte) length;
+        buffer[pos++] = (byte) record.getSetup();
+        buffer[pos++] = (byte) record.getResult();
+        buffer[pos++] = (byte) (moveCount >>> 8);
+        buffer[pos++] = (byte) moveCount;
+        pos = putName(black, pos);
+        pos = putName(white, pos);
+        int i = 0;
+        for (; i + 1 < moveCount; i += 2) {
+            int first = record.getMove(i);
+            int second = record.getMove(i + 1);
+            buffer[pos++] = (byte) (first >>> 4);
+            buffer[pos++] = (byte) ((first << 4) | (second >>> 8));
+            buffer[pos++] = (byte) second;
+        }
+        if (i < moveCount) {
+            int last = record.getMove(i);
+            buffer[pos++] = (byte) (last >>> 4);
+            buffer[pos++] = (byte) (last << 4);
+        }
+        out.write(buffer, 0, pos);
+    }
+
+    private int putName(byte[] name, int pos) {
+        buffer[pos++] = (byte) name.length;
+        System.arraycopy(name, 0, buffer, pos, name.length);
+        return pos + name.length;
+    }
+
+    private static byte[] encodeName(String name) {
+        byte[] bytes = (name == null ? "" : name).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Player name is too long to record: " + name);
+        }
+        return bytes;
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
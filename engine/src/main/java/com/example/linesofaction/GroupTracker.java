@@ -0,0 +1,115 @@
+package com.example.linesofaction;
+
+/**
+ * Updates the number of connected groups of one color when a single piece is added or removed,
+ * only looking at the groups that touch the changed square.
+ */
+public final class GroupTracker {
+    // NEIGHBOURS[square]: the up to eight squares touching square
+    private static final long[] NEIGHBOURS = new long[Bitboards.SIZE * Bitboards.SIZE];
+    // RING_SQUARES[square * 8 + i]: the i-th square clockwise from north around square, or -1 off the board
+    private static final int[] RING_SQUARES = new int[Bitboards.SIZE * Bitboards.SIZE * 8];
+    // RING_GROUPS[pattern]: groups formed by the occupied ring squares on their own
+    private static final int[] RING_GROUPS = new int[256];
+
+    static final int[] RING_ROW_STEPS = {-1, -1, 0, 1, 1, 1, 0, -1};
+    static final int[] RING_COL_STEPS = {0, 1, 1, 1, 0, -1, -1, -1};
+
+    static {
+        for (int square = 0; square < Bitboards.SIZE * Bitboards.SIZE; square++) {
+            NEIGHBOURS[square] = Bitboards.dilate(1L << square) & ~(1L << square);
+            for (int i = 0; i < 8; i++) {
+                int row = Bitboards.row(square) + RING_ROW_STEPS[i];
+                int col = Bitboards.col(square) + RING_COL_STEPS[i];
+                boolean onBoard = row >= 0 && row < Bitboards.SIZE && col >= 0 && col < Bitboards.SIZE;
+                RING_SQUARES[square * 8 + i] = onBoard ? Bitboards.square(row, col) : -1;
+            }
+        }
+        // Lay each pattern out on a 3x3 grid around (1,1) and count its groups by flood fill
+        for (int pattern = 0; pattern < 256; pattern++) {
+            long cells = 0L;
+            for (int i = 0; i < 8; i++) {
+                if ((pattern & (1 << i)) != 0) {
+                    cells |= Bitboards.squareMask(1 + RING_ROW_STEPS[i], 1 + RING_COL_STEPS[i]);
+                }
+            }
+            RING_GROUPS[pattern] = countGroups(cells);
+        }
+    }
+
+    private GroupTracker() {
+    }
+
+    /**
+     * Counts the connected groups in a set of pieces from scratch.
+     * @param pieces long bitboard of one color's pieces.
+     * @return int number of groups, 0 if there are no pieces.
+     */
+    public static int countGroups(long pieces) {
+        int groups = 0;
+        while (pieces != 0) {
+            pieces &= ~Bitboards.floodFill(pieces & -pieces, pieces);
+            groups++;
+        }
+        return groups;
+    }
+
+    /**
+     * Returns the group count after a piece lands on a square: it joins every group it touches.
+     * @param piecesBefore long bitboard of the color before the piece was added.
+     * @param square int square index the piece was added on.
+     * @param groupsBefore int group count before the piece was added.
+     * @return int group count afterwards.
+     */
+    public static int afterAdd(long piecesBefore, int square, int groupsBefore) {
+        return groupsBefore + 1 - touchingGroups(piecesBefore, square);
+    }
+
+    /**
+     * Returns the group count after a piece leaves a square: its group may split.
+     * @param piecesAfter long bitboard of the color after the piece was removed.
+     * @param square int square index the piece was removed from.
+     * @param groupsBefore int group count before the piece was removed.
+     * @return int group count afterwards.
+     */
+    public static int afterRemove(long piecesAfter, int square, int groupsBefore) {
+        return groupsBefore - 1 + touchingGroups(piecesAfter, square);
+    }
+
+    /**
+     * Counts the distinct groups among the pieces touching a square (the square itself excluded).
+     */
+    private static int touchingGroups(long pieces, int square) {
+        long touching = NEIGHBOURS[square] & pieces;
+        if (touching == 0) {
+            return 0;
+        }
+        // Neighbours already connected around the ring need no flood fill
+        if (RING_GROUPS[ringPattern(touching, square)] == 1) {
+            return 1;
+        }
+        int groups = 0;
+        while (touching != 0) {
+            touching &= ~Bitboards.floodFill(touching & -touching, pieces);
+            groups++;
+        }
+        return groups;
+    }
+
+    /**
+     * Packs which of the eight squares around a square hold pieces, bit i for the i-th square clockwise from north.
+     * @param pieces long bitboard of one color's pieces.
+     * @param square int square index in the middle of the ring.
+     * @return int pattern from 0 to 255.
+     */
+    static int ringPattern(long pieces, int square) {
+        int pattern = 0;
+        for (int i = 0; i < 8; i++) {
+            int ringSquare = RING_SQUARES[square * 8 + i];
+            if (ringSquare >= 0 && (pieces & (1L << ringSquare)) != 0) {
+                pattern |= 1 << i;
+            }
+        }
+        return pattern;
+    }
+}
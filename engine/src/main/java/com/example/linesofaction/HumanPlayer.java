@@ -1,5 +1,6 @@
 package com.example.linesofaction;
 import java.util.Scanner;
+import com.example.linesofaction.util.Logger;
 
 public class HumanPlayer extends Player {
     /**
@@ -20,6 +21,7 @@ public class HumanPlayer extends Player {
      */
     //@Override
     public void askPlayer() {
+        Logger.flushBeforeConsole();
         System.out.print("Enter your name: ");
         this.playerName = scanner.nextLine();
     }
@@ -0,0 +1,165 @@
+package com.example.linesofaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Parallel search in the Lazy SMP style: several {@link AlphaBetaSearch} workers run iterative deepening
+ * on their own copies of the board and cooperate only through a shared {@link TranspositionTable}.
+ * The calling thread runs the main worker; when it finishes the helpers are stopped.
+ */
+public class LazySmpSearch implements MoveStrategy {
+    private final AlphaBetaSearch[] workers;
+    private final ExecutorService helpers;
+    private final TranspositionTable table;
+    private long lastNodes;
+    private long lastElapsedNanos;
+    private int lastCompletedDepth;
+
+    /**
+     * @param threads int number of workers, including the calling thread.
+     * @param maxDepth int deepest iteration to search, in plies.
+     * @param timeBudgetMillis long time allowed per move, or {@link AlphaBetaSearch#NO_TIME_LIMIT}.
+     * @param tableMegabytes int size of the shared transposition table.
+     */
+    public LazySmpSearch(int threads, int maxDepth, long timeBudgetMillis, int tableMegabytes) {
+        int count = Math.max(1, threads);
+        table = new TranspositionTable(tableMegabytes);
+        workers = new AlphaBetaSearch[count];
+        for (int i = 0; i < count; i++) {
+            workers[i] = new AlphaBetaSearch(maxDepth, timeBudgetMillis, table);
+            // Half of the helpers start one ply deeper so the threads spread over different depths
+            workers[i].setFirstDepth(1 + (i % 2));
+        }
+        helpers = count > 1 ? Executors.newFixedThreadPool(count - 1, runnable -> {
+            Thread thread = new Thread(runnable, "lazy-smp-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    @Override
+    public int selectMove(Board board, char pieceType) {
+        AtomicBoolean stop = new AtomicBoolean(false);
+        List<Future<Integer>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 1; i < workers.length; i++) {
+            AlphaBetaSearch worker = workers[i];
+            worker.setStopSignal(stop);
+            results.add(helpers.submit(() -> worker.selectMove(board, pieceType)));
+        }
+        // The helpers copy the board before searching, and the main worker copies it too
+        int bestMove = workers[0].selectMove(board, pieceType);
+        stop.set(true);
+
+        int bestDepth = workers[0].getCompletedDepth();
+        for (int i = 1; i < workers.length; i++) {
+            int move;
+            try {
+                move = results.get(i - 1).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search helper failed", e.getCause());
+            }
+            // A helper that finished a deeper iteration than the main worker has the better answer
+            if (workers[i].getCompletedDepth() > bestDepth && move != Move.NONE) {
+                bestDepth = workers[i].getCompletedDepth();
+                bestMove = move;
+            }
+        }
+        lastElapsedNanos = System.nanoTime() - start;
+        lastCompletedDepth = bestDepth;
+        lastNodes = 0;
+        for (AlphaBetaSearch worker : workers) {
+            lastNodes += worker.getNodes();
+        }
+        return bestMove;
+    }
+
+    /**
+     * Stops the helper threads; the search cannot be used afterwards.
+     */
+    public void shutdown() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+
+    /**
+     * @return long nodes searched by all workers during the last move.
+     */
+    public long getNodes() {
+        return lastNodes;
+    }
+
+    /**
+     * @return long nodes searched per second by all workers during the last move.
+     */
+    public long getNodesPerSecond() {
+        return lastElapsedNanos == 0 ? 0 : lastNodes * 1_000_000_000L / lastElapsedNanos;
+    }
+
+    /**
+     * @return long wall-clock time of the last move in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return lastElapsedNanos;
+    }
+
+    /**
+     * @return int deepest iteration completed by any worker during the last move.
+     */
+    public int getCompletedDepth() {
+        return lastCompletedDepth;
+    }
+
+    /**
+     * @return TranspositionTable shared by the workers.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Measures nodes per second and time-to-depth speedup for 1, 2, 4, ... up to maxThreads workers,
+     * each searching the same position to a fixed depth with a fresh table.
+     * @param board Board position to search.
+     * @param pieceType char side to move.
+     * @param depth int depth every run must complete.
+     * @param maxThreads int largest thread count to measure.
+     * @param tableMegabytes int table size per run.
+     * @return List of report lines, one per thread count.
+     */
+    public static List<String> scalingReport(Board board, char pieceType, int depth, int maxThreads, int tableMegabytes) {
+        List<String> lines = new ArrayList<>();
+        // Untimed run first so the JIT has compiled the search before the single-thread baseline
+        new AlphaBetaSearch(depth, AlphaBetaSearch.NO_TIME_LIMIT, new TranspositionTable(tableMegabytes)).selectMove(board, pieceType);
+        long baseline = 0;
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            LazySmpSearch search = new LazySmpSearch(threads, depth, AlphaBetaSearch.NO_TIME_LIMIT, tableMegabytes);
+            try {
+                search.selectMove(board, pieceType);
+            } finally {
+                search.shutdown();
+            }
+            if (threads == 1) {
+                baseline = search.getElapsedNanos();
+            }
+            lines.add(String.format(Locale.ROOT, "threads=%d depth=%d time_ms=%.1f nodes=%d nps=%d speedup=%.2f",
+                    threads, depth, search.getElapsedNanos() / 1e6, search.getNodes(), search.getNodesPerSecond(),
+                    (double) baseline / Math.max(1, search.getElapsedNanos())));
+            if (threads >= maxThreads) {
+                break;
+            }
+        }
+        return lines;
+    }
+}
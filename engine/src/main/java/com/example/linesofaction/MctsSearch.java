@@ -0,0 +1,264 @@
+package com.example.linesofaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Monte Carlo tree search with UCT selection and random (optionally lightly guided) playouts.
+ * Several threads grow one shared tree; a thread descending through a node adds a virtual loss to it
+ * until its playout result is backed up, steering the other threads towards different lines.
+ * The move played is the most visited child of the root, so the player gets stronger with more time.
+ */
+public class MctsSearch implements MoveStrategy {
+    private static final int MAX_PLAYOUT_PLIES = 200;
+    // Playout moves tried before settling for one that does not touch another own piece
+    private static final int GUIDED_SAMPLES = 3;
+
+    private final int threads;
+    private final long timeBudgetNanos;
+    private final double exploration;
+    private final boolean guidedPlayouts;
+    private final ExecutorService helpers;
+    private long lastPlayouts;
+
+    /**
+     * @param threads int number of threads growing the tree, including the calling thread.
+     * @param timeBudgetMillis long time allowed per move.
+     * @param exploration double UCT exploration constant (sqrt(2) is the textbook value).
+     * @param guidedPlayouts boolean true to prefer playout moves that land next to an own piece.
+     */
+    public MctsSearch(int threads, long timeBudgetMillis, double exploration, boolean guidedPlayouts) {
+        this.threads = Math.max(1, threads);
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.exploration = exploration;
+        this.guidedPlayouts = guidedPlayouts;
+        this.helpers = this.threads > 1 ? Executors.newFixedThreadPool(this.threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "mcts-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * A tree node; all counters are updated without locks, expansion is synchronized.
+     */
+    private static final class Node {
+        private static final AtomicIntegerFieldUpdater<Node> VISITS = AtomicIntegerFieldUpdater.newUpdater(Node.class, "visits");
+        private static final AtomicIntegerFieldUpdater<Node> HALF_WINS = AtomicIntegerFieldUpdater.newUpdater(Node.class, "halfWins");
+        private static final AtomicIntegerFieldUpdater<Node> VIRTUAL_LOSSES = AtomicIntegerFieldUpdater.newUpdater(Node.class, "virtualLosses");
+
+        private final int move;
+        // Color that played move, i.e. whose wins this node counts
+        private final char mover;
+        private volatile Node[] children;
+        private volatile int visits;
+        private volatile int halfWins;
+        private volatile int virtualLosses;
+
+        Node(int move, char mover) {
+            this.move = move;
+            this.mover = mover;
+        }
+    }
+
+    @Override
+    public int selectMove(Board board, char pieceType) {
+        Board position = new Board(board);
+        position.setSideToMove(pieceType);
+        Node root = new Node(Move.NONE, opponent(pieceType));
+        expand(root, position);
+        if (root.children.length == 0) {
+            return Move.NONE;
+        }
+        if (root.children.length == 1) {
+            return root.children[0].move;
+        }
+
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 1; i < threads; i++) {
+            results.add(helpers.submit(() -> grow(root, position, deadline)));
+        }
+        long playouts = grow(root, position, deadline);
+        for (Future<Long> result : results) {
+            try {
+                playouts += result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("MCTS helper failed", e.getCause());
+            }
+        }
+        lastPlayouts = playouts;
+
+        Node best = root.children[0];
+        for (Node child : root.children) {
+            if (child.visits > best.visits) {
+                best = child;
+            }
+        }
+        return best.move;
+    }
+
+    /**
+     * Runs select/expand/playout/backup iterations on a private copy of the root position until the deadline.
+     * @return long number of playouts run.
+     */
+    private long grow(Node root, Board rootPosition, long deadline) {
+        Board board = new Board(rootPosition);
+        MoveList moves = new MoveList();
+        Node[] path = new Node[AlphaBetaSearch.MAX_PLY * 4];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long playouts = 0;
+        while (System.nanoTime() - deadline < 0) {
+            // Selection
+            int length = 0;
+            path[length++] = root;
+            Node node = root;
+            char winner = winnerAfterMove(board);
+            while (winner == 0 && node.children != null && node.children.length > 0 && length < path.length) {
+                node = selectChild(node);
+                Node.VIRTUAL_LOSSES.incrementAndGet(node);
+                board.makeMove(node.move);
+                path[length++] = node;
+                winner = winnerAfterMove(board);
+            }
+            // Expansion: grow the tree by one node per playout
+            if (winner == 0 && node.visits > 0 && length < path.length) {
+                expand(node, board);
+                if (node.children.length > 0) {
+                    node = node.children[random.nextInt(node.children.length)];
+                    Node.VIRTUAL_LOSSES.incrementAndGet(node);
+                    board.makeMove(node.move);
+                    path[length++] = node;
+                    winner = winnerAfterMove(board);
+                }
+            }
+            // Playout
+            int playoutPlies = 0;
+            while (winner == 0 && playoutPlies < MAX_PLAYOUT_PLIES) {
+                char side = board.getSideToMove();
+                MoveGenerator.generateMoves(board, side, moves);
+                if (moves.isEmpty()) {
+                    winner = opponent(side);
+                    break;
+                }
+                board.makeMove(pickPlayoutMove(board, side, moves, random));
+                playoutPlies++;
+                winner = winnerAfterMove(board);
+            }
+            for (int i = 0; i < playoutPlies; i++) {
+                board.unmakeMove();
+            }
+            // Backup; a playout that hit the ply cap counts as half a win for both sides
+            for (int i = length - 1; i >= 0; i--) {
+                Node visited = path[i];
+                Node.VISITS.incrementAndGet(visited);
+                int halfWins = winner == 0 ? 1 : (winner == visited.mover ? 2 : 0);
+                if (halfWins != 0) {
+                    Node.HALF_WINS.addAndGet(visited, halfWins);
+                }
+                if (i > 0) {
+                    Node.VIRTUAL_LOSSES.decrementAndGet(visited);
+                    board.unmakeMove();
+                }
+            }
+            playouts++;
+        }
+        return playouts;
+    }
+
+    private Node selectChild(Node parent) {
+        Node[] children = parent.children;
+        double logVisits = Math.log(Math.max(1, parent.visits + parent.virtualLosses));
+        Node best = children[0];
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Node child : children) {
+            // A virtual loss counts as a visit that was lost
+            int visits = child.visits + child.virtualLosses;
+            if (visits == 0) {
+                return child;
+            }
+            double value = child.halfWins / (2.0 * visits) + exploration * Math.sqrt(logVisits / visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    private static void expand(Node node, Board board) {
+        if (node.children != null) {
+            return;
+        }
+        synchronized (node) {
+            if (node.children != null) {
+                return;
+            }
+            char side = board.getSideToMove();
+            MoveList moves = new MoveList();
+            MoveGenerator.generateMoves(board, side, moves);
+            Node[] children = new Node[moves.size()];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = new Node(moves.get(i), side);
+            }
+            node.children = children;
+        }
+    }
+
+    private int pickPlayoutMove(Board board, char side, MoveList moves, ThreadLocalRandom random) {
+        int move = moves.get(random.nextInt(moves.size()));
+        if (!guidedPlayouts) {
+            return move;
+        }
+        long own = board.getPieces(side);
+        for (int sample = 0; sample < GUIDED_SAMPLES; sample++) {
+            long others = own & ~(1L << Move.from(move));
+            if ((Bitboards.dilate(1L << Move.to(move)) & others) != 0) {
+                return move;
+            }
+            move = moves.get(random.nextInt(moves.size()));
+        }
+        return move;
+    }
+
+    /**
+     * @return char winner of the position reached by the last move, or 0 if the game goes on.
+     */
+    private static char winnerAfterMove(Board board) {
+        char side = board.getSideToMove();
+        char mover = opponent(side);
+        if (board.isConnected(mover)) {
+            return mover;
+        }
+        return board.isConnected(side) ? side : 0;
+    }
+
+    private static char opponent(char color) {
+        return color == 'B' ? 'W' : 'B';
+    }
+
+    /**
+     * Stops the helper threads; the search cannot be used afterwards.
+     */
+    public void shutdown() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+
+    /**
+     * @return long playouts run by all threads during the last move.
+     */
+    public long getPlayouts() {
+        return lastPlayouts;
+    }
+}
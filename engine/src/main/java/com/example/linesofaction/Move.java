@@ -0,0 +1,64 @@
+package com.example.linesofaction;
+
+/**
+ * Packs a move into a single int: bits 0-5 hold the from-square, bits 6-11 the to-square
+ * and bit 12 is set when the move captures an opposing piece.
+ */
+public final class Move {
+    public static final int NONE = 0;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int TO_SHIFT = 6;
+    private static final int CAPTURE_FLAG = 1 << 12;
+
+    private Move() {
+    }
+
+    /**
+     * Packs a move.
+     * @param from int square index (0-63) the piece moves from.
+     * @param to int square index (0-63) the piece moves to.
+     * @param capture boolean true if the destination holds an opposing piece.
+     * @return int packed move.
+     */
+    public static int of(int from, int to, boolean capture) {
+        return from | (to << TO_SHIFT) | (capture ? CAPTURE_FLAG : 0);
+    }
+
+    /**
+     * @param move int packed move.
+     * @return int square index the piece moves from.
+     */
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    /**
+     * @param move int packed move.
+     * @return int square index the piece moves to.
+     */
+    public static int to(int move) {
+        return (move >>> TO_SHIFT) & SQUARE_MASK;
+    }
+
+    /**
+     * @param move int packed move.
+     * @return boolean true if the move captures an opposing piece.
+     */
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE_FLAG) != 0;
+    }
+
+    /**
+     * Formats a move in the board's notation, e.g. "B8 to B6".
+     * @param move int packed move.
+     * @return String representation of the move.
+     */
+    public static String toNotation(int move) {
+        return squareNotation(from(move)) + " to " + squareNotation(to(move));
+    }
+
+    private static String squareNotation(int square) {
+        return "" + (char) ('A' + Bitboards.col(square)) + (Bitboards.SIZE - Bitboards.row(square));
+    }
+}
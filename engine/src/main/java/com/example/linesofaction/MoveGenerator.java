@@ -0,0 +1,143 @@
+package com.example.linesofaction;
+
+/**
+ * Generates legal moves straight from a board's bitboards into a {@link MoveList}, without allocating.
+ */
+public final class MoveGenerator {
+    private MoveGenerator() {
+    }
+
+    /**
+     * Writes every legal move of the given color into the list, replacing its contents.
+     * @param board The game board.
+     * @param color char 'B' or 'W' for the side to generate moves for.
+     * @param moves MoveList that receives the packed moves.
+     */
+    public static void generateMoves(Board board, char color, MoveList moves) {
+        generate(board, color, moves, ~board.getPieces(color));
+    }
+
+    /**
+     * Writes only the legal moves that capture an opposing piece into the list, replacing its contents.
+     * @param board The game board.
+     * @param color char 'B' or 'W' for the side to generate moves for.
+     * @param moves MoveList that receives the packed moves.
+     */
+    public static void generateCaptures(Board board, char color, MoveList moves) {
+        generate(board, color, moves, board.getOccupied() & ~board.getPieces(color));
+    }
+
+    /**
+     * Writes only the legal moves onto empty squares into the list, replacing its contents.
+     * @param board The game board.
+     * @param color char 'B' or 'W' for the side to generate moves for.
+     * @param moves MoveList that receives the packed moves.
+     */
+    public static void generateQuiets(Board board, char color, MoveList moves) {
+        generate(board, color, moves, ~board.getOccupied());
+    }
+
+    private static void generate(Board board, char color, MoveList moves, long targets) {
+        moves.clear();
+        long own = board.getPieces(color);
+        long enemy = board.getOccupied() & ~own;
+
+        long remaining = own;
+        while (remaining != 0) {
+            int from = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+            int row = Bitboards.row(from);
+            int col = Bitboards.col(from);
+
+            // Both directions along a line move the same distance, so look the count up once per line
+            for (int dir = 0; dir < Bitboards.DIRECTIONS; dir += 2) {
+                int distance = board.getLineCount(row, col, Bitboards.ROW_STEPS[dir], Bitboards.COL_STEPS[dir]);
+                addMoveIfLegal(moves, own, enemy, targets, from, dir, distance);
+                addMoveIfLegal(moves, own, enemy, targets, from, dir + 1, distance);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a packed move, e.g. one remembered from another position, is legal here as it stands,
+     * including its capture flag.
+     * @param board The game board.
+     * @param color char 'B' or 'W' for the side to move.
+     * @param move int packed move.
+     * @return boolean true if generateMoves would produce exactly this move.
+     */
+    public static boolean isLegal(Board board, char color, int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        long own = board.getPieces(color);
+        if (from == to || (own & (1L << from)) == 0) {
+            return false;
+        }
+        int rowDiff = Bitboards.row(to) - Bitboards.row(from);
+        int colDiff = Bitboards.col(to) - Bitboards.col(from);
+        if (rowDiff != 0 && colDiff != 0 && Math.abs(rowDiff) != Math.abs(colDiff)) {
+            return false;
+        }
+        int dRow = Integer.signum(rowDiff);
+        int dCol = Integer.signum(colDiff);
+        int dir = 0;
+        while (Bitboards.ROW_STEPS[dir] != dRow || Bitboards.COL_STEPS[dir] != dCol) {
+            dir++;
+        }
+        long enemy = board.getOccupied() & ~own;
+        int distance = board.getLineCount(Bitboards.row(from), Bitboards.col(from), dRow, dCol);
+        return destination(own, enemy, from, dir, distance) == to && Move.isCapture(move) == ((enemy & (1L << to)) != 0);
+    }
+
+    /**
+     * Counts the legal moves of the given color without storing them, e.g. for a mobility term.
+     * @param board The game board.
+     * @param color char 'B' or 'W'.
+     * @return int number of legal moves.
+     */
+    public static int countMoves(Board board, char color) {
+        long own = board.getPieces(color);
+        long enemy = board.getOccupied() & ~own;
+        int count = 0;
+
+        long remaining = own;
+        while (remaining != 0) {
+            int from = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+            int row = Bitboards.row(from);
+            int col = Bitboards.col(from);
+            for (int dir = 0; dir < Bitboards.DIRECTIONS; dir += 2) {
+                int distance = board.getLineCount(row, col, Bitboards.ROW_STEPS[dir], Bitboards.COL_STEPS[dir]);
+                if (destination(own, enemy, from, dir, distance) >= 0) {
+                    count++;
+                }
+                if (destination(own, enemy, from, dir + 1, distance) >= 0) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static void addMoveIfLegal(MoveList moves, long own, long enemy, long targets, int from, int dir, int distance) {
+        int to = destination(own, enemy, from, dir, distance);
+        if (to >= 0 && (targets & (1L << to)) != 0) {
+            moves.add(Move.of(from, to, (enemy & (1L << to)) != 0));
+        }
+    }
+
+    /**
+     * Returns the square a piece lands on moving distance squares in a direction, or -1 if that move is illegal.
+     */
+    private static int destination(long own, long enemy, int from, int dir, int distance) {
+        if (distance > Bitboards.rayLength(dir, from)) {
+            return -1;
+        }
+        int to = from + distance * (Bitboards.ROW_STEPS[dir] * Bitboards.SIZE + Bitboards.COL_STEPS[dir]);
+        // Own pieces may be jumped over, opposing pieces may not
+        if ((own & (1L << to)) != 0 || (enemy & Bitboards.between(dir, from, to)) != 0) {
+            return -1;
+        }
+        return to;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.linesofaction;
+
+/**
+ * Reusable fixed-size buffer of packed moves (see {@link Move}), so generating moves does not allocate.
+ */
+public final class MoveList {
+    // 12 pieces with at most 8 directions each
+    public static final int CAPACITY = 128;
+
+    private final int[] moves = new int[CAPACITY];
+    private int size;
+
+    /**
+     * Appends a packed move.
+     * @param move int packed move.
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    /**
+     * @param index int position in the list.
+     * @return int packed move at that position.
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Replaces the move at a position.
+     * @param index int position in the list.
+     * @param move int packed move.
+     */
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    /**
+     * @return int number of moves in the list.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return boolean true if the list holds no moves.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Empties the list while keeping its buffer.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Checks whether the list holds a move with the given squares, ignoring the capture flag.
+     * @param from int square index the piece moves from.
+     * @param to int square index the piece moves to.
+     * @return int the packed move, or {@link Move#NONE} if absent.
+     */
+    public int find(int from, int to) {
+        for (int i = 0; i < size; i++) {
+            if (Move.from(moves[i]) == from && Move.to(moves[i]) == to) {
+                return moves[i];
+            }
+        }
+        return Move.NONE;
+    }
+}
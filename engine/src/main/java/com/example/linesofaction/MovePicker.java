@@ -0,0 +1,135 @@
+package com.example.linesofaction;
+
+/**
+ * Hands out the moves of one search node in stages, generating each stage only when the previous one
+ * is used up: the hash move, then captures, then the two killer moves, then the remaining quiet moves
+ * best history score first. A cutoff early in the list therefore skips most of the generation work.
+ */
+public final class MovePicker {
+    // Entries in a history table: one per color, from-square and to-square
+    public static final int HISTORY_SIZE = 2 * 64 * 64;
+
+    private static final int STAGE_HASH = 0;
+    private static final int STAGE_CAPTURES = 1;
+    private static final int STAGE_KILLERS = 2;
+    private static final int STAGE_QUIETS = 3;
+    private static final int STAGE_DONE = 4;
+
+    private final MoveList moves = new MoveList();
+    private final int[] scores = new int[MoveList.CAPACITY];
+    private Board board;
+    private char side;
+    private int hashMove;
+    private int firstKiller;
+    private int secondKiller;
+    private int[] history;
+    private int stage;
+    private int index;
+
+    /**
+     * Starts picking the moves of a new node.
+     * @param board Board at the node.
+     * @param side char 'B' or 'W', the side to move.
+     * @param hashMove int move suggested by the transposition table, or Move.NONE.
+     * @param firstKiller int most recent quiet move that caused a cutoff at this ply, or Move.NONE.
+     * @param secondKiller int the killer before that, or Move.NONE.
+     * @param history int[] of {@link #HISTORY_SIZE} cutoff scores indexed by {@link #historyIndex(char, int)}.
+     */
+    public void reset(Board board, char side, int hashMove, int firstKiller, int secondKiller, int[] history) {
+        this.board = board;
+        this.side = side;
+        this.hashMove = hashMove;
+        this.firstKiller = firstKiller;
+        this.secondKiller = secondKiller == firstKiller ? Move.NONE : secondKiller;
+        this.history = history;
+        stage = STAGE_HASH;
+        index = 0;
+    }
+
+    /**
+     * Returns the next move to search; each legal move is returned exactly once.
+     * @return int packed move, or Move.NONE when all moves have been returned.
+     */
+    public int next() {
+        while (true) {
+            switch (stage) {
+                case STAGE_HASH:
+                    stage = STAGE_CAPTURES;
+                    // The table entry may come from a colliding position, so check the move still applies
+                    if (hashMove != Move.NONE && MoveGenerator.isLegal(board, side, hashMove)) {
+                        return hashMove;
+                    }
+                    hashMove = Move.NONE;
+                    break;
+                case STAGE_CAPTURES:
+                    if (index == 0) {
+                        MoveGenerator.generateCaptures(board, side, moves);
+                    }
+                    while (index < moves.size()) {
+                        int move = moves.get(index++);
+                        if (move != hashMove) {
+                            return move;
+                        }
+                    }
+                    stage = STAGE_KILLERS;
+                    index = 0;
+                    break;
+                case STAGE_KILLERS:
+                    while (index < 2) {
+                        int killer = index++ == 0 ? firstKiller : secondKiller;
+                        // Killers come from sibling positions: use them only if they are legal quiet moves here
+                        if (killer != Move.NONE && killer != hashMove && !Move.isCapture(killer)
+                                && MoveGenerator.isLegal(board, side, killer)) {
+                            return killer;
+                        }
+                    }
+                    stage = STAGE_QUIETS;
+                    MoveGenerator.generateQuiets(board, side, moves);
+                    for (int i = 0; i < moves.size(); i++) {
+                        scores[i] = history[historyIndex(side, moves.get(i))];
+                    }
+                    index = 0;
+                    break;
+                case STAGE_QUIETS:
+                    while (index < moves.size()) {
+                        int move = pickBestQuiet();
+                        if (move != hashMove && move != firstKiller && move != secondKiller) {
+                            return move;
+                        }
+                    }
+                    stage = STAGE_DONE;
+                    break;
+                default:
+                    return Move.NONE;
+            }
+        }
+    }
+
+    /**
+     * Swaps the highest scored remaining quiet move to the front of the unsearched part and returns it;
+     * a partial selection sort, so the quiets left after a cutoff are never sorted.
+     */
+    private int pickBestQuiet() {
+        int best = index;
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        int move = moves.get(best);
+        moves.set(best, moves.get(index));
+        moves.set(index, move);
+        scores[best] = scores[index];
+        index++;
+        return move;
+    }
+
+    /**
+     * @param color char 'B' or 'W', the side making the move.
+     * @param move int packed move.
+     * @return int index of the move in a history table.
+     */
+    public static int historyIndex(char color, int move) {
+        return (color == 'B' ? 0 : 64 * 64) + Move.to(move) * 64 + Move.from(move);
+    }
+}
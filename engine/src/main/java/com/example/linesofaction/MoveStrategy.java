@@ -0,0 +1,14 @@
+package com.example.linesofaction;
+
+/**
+ * Decides which move a {@link ComputerPlayer} plays.
+ */
+public interface MoveStrategy {
+    /**
+     * Picks a move for one side; implementations must leave the given board unchanged.
+     * @param board The game board.
+     * @param pieceType char 'B' or 'W' for the side to move.
+     * @return int packed move (see {@link Move}), or {@link Move#NONE} if the side has no legal move.
+     */
+    int selectMove(Board board, char pieceType);
+}
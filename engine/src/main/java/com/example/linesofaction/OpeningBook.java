@@ -0,0 +1,175 @@
+package com.example.linesofaction;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Book moves for opening positions, built offline from self-play and kept in a small sorted binary
+ * file. After a 12-byte header (magic "LOAB", version, entry count) come 10-byte entries, a position
+ * hash and a packed move, sorted by hash. The file is memory-mapped and probed by binary search, so a
+ * lookup touches a few cache lines and a book move costs no search time.
+ */
+public final class OpeningBook implements Closeable {
+    private static final int MAGIC = 0x4C4F4142;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final int ENTRY_BYTES = 10;
+
+    private final RandomAccessFile file;
+    private final MappedByteBuffer entries;
+    private final int size;
+
+    private OpeningBook(RandomAccessFile file, MappedByteBuffer entries, int size) {
+        this.file = file;
+        this.entries = entries;
+        this.size = size;
+    }
+
+    /**
+     * Opens a book file for probing.
+     * @param bookFile File written by one of the build methods.
+     * @return OpeningBook ready to probe; may be shared between players and threads.
+     * @throws IOException if the file cannot be mapped or is not an opening book.
+     */
+    public static OpeningBook open(File bookFile) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(bookFile, "r");
+        try {
+            long bytes = file.length();
+            if (bytes < HEADER_BYTES) {
+                throw new IOException("Not an opening book: " + bookFile);
+            }
+            MappedByteBuffer entries = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+            if (entries.getInt(0) != MAGIC) {
+                throw new IOException("Not an opening book: " + bookFile);
+            }
+            if (entries.getInt(4) != VERSION) {
+                throw new IOException("Unsupported opening book version: " + entries.getInt(4));
+            }
+            int size = entries.getInt(8);
+            if (size < 0 || HEADER_BYTES + (long) size * ENTRY_BYTES != bytes) {
+                throw new IOException("Corrupt opening book: size does not match its entry count");
+            }
+            return new OpeningBook(file, entries, size);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Builds a book from self-play game records, through a temporary {@link PositionDatabase}.
+     * @param recordFile File written by {@link GameRecordWriter}, e.g. by {@link SelfPlayRunner}.
+     * @param bookFile File to write, replacing it.
+     * @param maxPly int plies into each game the book covers.
+     * @param minVisits int games a position must appear in for its move to enter the book.
+     * @return int number of positions in the book.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public static int build(File recordFile, File bookFile, int maxPly, int minVisits) throws IOException {
+        long games = 0;
+        try (GameRecordReader reader = GameRecordReader.open(recordFile)) {
+            while (reader.skip()) {
+                games++;
+            }
+        }
+        // Room for every game to reach only new positions, within the database's load limit
+        long positions = games * (maxPly + 1L);
+        int capacity = (int) Math.min(PositionDatabase.MAX_CAPACITY, Math.max(1024, positions * 4 / 3 + 1));
+        File databaseFile = File.createTempFile("positions", ".db");
+        try {
+            try (PositionDatabase database = PositionDatabase.build(recordFile, databaseFile, capacity, maxPly, minVisits)) {
+                return build(database, bookFile, minVisits);
+            }
+        } finally {
+            if (!databaseFile.delete()) {
+                databaseFile.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Writes every position of a database that has a best move and at least minVisits games to a book.
+     * @param database PositionDatabase built from self-play games.
+     * @param bookFile File to write, replacing it.
+     * @param minVisits int games a position must appear in for its move to enter the book.
+     * @return int number of positions in the book.
+     * @throws IOException if the book cannot be written.
+     */
+    public static int build(PositionDatabase database, File bookFile, int minVisits) throws IOException {
+        long[] keys = new long[database.size()];
+        int size = 0;
+        for (int slot = 0; slot < database.getCapacity(); slot++) {
+            if (database.getVisits(slot) >= Math.max(1, minVisits) && database.getBestMove(slot) != Move.NONE) {
+                keys[size++] = database.getKey(slot);
+            }
+        }
+        Arrays.sort(keys, 0, size);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(bookFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeLong(keys[i]);
+                out.writeShort(database.getBestMove(database.find(keys[i])));
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Looks up the book move for a position.
+     * @param key long position hash.
+     * @return int packed move, or {@link Move#NONE} if the position is not in the book.
+     */
+    public int find(long key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = entries.getLong(HEADER_BYTES + mid * ENTRY_BYTES);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return entries.getShort(HEADER_BYTES + mid * ENTRY_BYTES + 8) & 0xFFFF;
+            }
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Returns the book move for the board if it is legal here, which guards against two positions sharing a hash.
+     * @param board The game board.
+     * @param color char 'B' or 'W' for the side to move.
+     * @return int packed move, or {@link Move#NONE} if the book has no move.
+     */
+    public int probe(Board board, char color) {
+        int move = find(board.getHash());
+        return move != Move.NONE && MoveGenerator.isLegal(board, color, move) ? move : Move.NONE;
+    }
+
+    /**
+     * @return int number of positions in the book.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Closes the file. The mapping itself is released when it is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.linesofaction;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts the positions reached after exactly N plies from a board ("perft"), to check and benchmark
+ * move generation. A game that is won before depth N contributes no positions below the winning move.
+ * Every method plays from the board's side to move and leaves the board as it found it.
+ */
+public final class Perft {
+    // Bytes per cache entry: the position hash and the packed count and depth
+    private static final int CACHE_ENTRY_BYTES = 16;
+
+    private Perft() {
+    }
+
+    /**
+     * Counts the leaf positions depth plies below the board.
+     * @param board The game board, with the side to move set.
+     * @param depth int number of plies (0 returns 1).
+     * @return long number of positions at that depth.
+     */
+    public static long perft(Board board, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        char side = board.getSideToMove();
+        if (isGameOver(board)) {
+            return 0;
+        }
+        // The last ply only needs the number of moves, not the positions they lead to
+        if (depth == 1) {
+            return MoveGenerator.countMoves(board, side);
+        }
+        MoveList moves = new MoveList();
+        MoveGenerator.generateMoves(board, side, moves);
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            nodes += perft(board, depth - 1);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Splits a perft count by root move, to narrow down where two move generators disagree.
+     * @param board The game board, with the side to move set.
+     * @param depth int number of plies (at least 1).
+     * @return Map from each packed root move, in generation order, to the positions below it.
+     */
+    public static Map<Integer, Long> divide(Board board, int depth) {
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        if (depth < 1 || isGameOver(board)) {
+            return counts;
+        }
+        MoveList moves = new MoveList();
+        MoveGenerator.generateMoves(board, board.getSideToMove(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            counts.put(moves.get(i), perft(board, depth - 1));
+            board.unmakeMove();
+        }
+        return counts;
+    }
+
+    /**
+     * Formats {@link #divide(Board, int)} as one line per root move plus a total.
+     * @param board The game board, with the side to move set.
+     * @param depth int number of plies (at least 1).
+     * @return List of lines such as "B1 to B3: 1234".
+     */
+    public static List<String> divideReport(Board board, int depth) {
+        List<String> lines = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<Integer, Long> entry : divide(board, depth).entrySet()) {
+            lines.add(Move.toNotation(entry.getKey()) + ": " + entry.getValue());
+            total += entry.getValue();
+        }
+        lines.add("total: " + total);
+        return lines;
+    }
+
+    /**
+     * Counts the same positions as {@link #perft(Board, int)} with the root moves shared out over a pool.
+     * @param board The game board, with the side to move set; it is not modified.
+     * @param depth int number of plies.
+     * @param pool ForkJoinPool that runs one task per root move.
+     * @return long number of positions at that depth.
+     */
+    public static long parallelPerft(Board board, int depth, ForkJoinPool pool) {
+        return pool.invoke(new RootTask(new Board(board), depth));
+    }
+
+    private static final class RootTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final int depth;
+
+        RootTask(Board board, int depth) {
+            this.board = board;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            if (depth < 2 || isGameOver(board)) {
+                return perft(board, depth);
+            }
+            MoveList moves = new MoveList();
+            MoveGenerator.generateMoves(board, board.getSideToMove(), moves);
+            List<ChildTask> children = new ArrayList<>();
+            for (int i = 0; i < moves.size(); i++) {
+                Board child = new Board(board);
+                child.makeMove(moves.get(i));
+                children.add(new ChildTask(child, depth - 1));
+            }
+            invokeAll(children);
+            long nodes = 0;
+            for (ChildTask child : children) {
+                nodes += child.join();
+            }
+            return nodes;
+        }
+    }
+
+    private static final class ChildTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final int depth;
+
+        ChildTask(Board board, int depth) {
+            this.board = board;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            return perft(board, depth);
+        }
+    }
+
+    /**
+     * Counts the same positions as {@link #perft(Board, int)}, caching subtree counts by Zobrist hash
+     * so that transpositions are only counted once.
+     * @param board The game board, with the side to move set.
+     * @param depth int number of plies (at most 255).
+     * @param megabytes int size of the cache.
+     * @return long number of positions at that depth.
+     */
+    public static long cachedPerft(Board board, int depth, int megabytes) {
+        // Two longs per entry in one array, whose length must stay below 2^31
+        int entries = Integer.highestOneBit((int) Math.max(1, Math.min((long) megabytes * 1024 * 1024 / CACHE_ENTRY_BYTES, 1 << 29)));
+        return cachedPerft(board, depth, new long[entries * 2], entries - 1);
+    }
+
+    private static long cachedPerft(Board board, int depth, long[] cache, int mask) {
+        if (depth <= 1 || isGameOver(board)) {
+            return perft(board, depth);
+        }
+        long key = board.getHash();
+        // Mix the depth into the slot so the counts for one position at different depths do not evict each other
+        int slot = (int) ((key + depth * 0x9E3779B97F4A7C15L) & mask) * 2;
+        if (cache[slot] == key && (cache[slot + 1] & 0xFF) == depth) {
+            return cache[slot + 1] >>> 8;
+        }
+        MoveList moves = new MoveList();
+        MoveGenerator.generateMoves(board, board.getSideToMove(), moves);
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            nodes += cachedPerft(board, depth - 1, cache, mask);
+            board.unmakeMove();
+        }
+        cache[slot] = key;
+        cache[slot + 1] = nodes << 8 | depth;
+        return nodes;
+    }
+
+    /**
+     * Walks every position up to depth plies deep and checks that MoveGenerator and Rules.isValidMove
+     * agree on every straight-line move of the side to move.
+     * @param board The game board, with the side to move set.
+     * @param depth int number of plies to walk.
+     * @return long number of positions checked.
+     * @throws IllegalStateException naming the first move the two disagree on.
+     */
+    public static long verifyAgainstRules(Board board, int depth) {
+        char side = board.getSideToMove();
+        HumanPlayer player = new HumanPlayer();
+        player.setPieceType(side);
+        Rules rules = new Rules();
+        MoveList moves = new MoveList();
+        MoveGenerator.generateMoves(board, side, moves);
+
+        for (long pieces = board.getPieces(side); pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            for (int dir = 0; dir < Bitboards.DIRECTIONS; dir++) {
+                for (int distance = 1; distance <= Bitboards.rayLength(dir, from); distance++) {
+                    int to = from + distance * (Bitboards.ROW_STEPS[dir] * Bitboards.SIZE + Bitboards.COL_STEPS[dir]);
+                    boolean generated = moves.find(from, to) != Move.NONE;
+                    boolean valid = rules.isValidMove(board, player, Bitboards.row(from), Bitboards.col(from),
+                            Bitboards.row(to), Bitboards.col(to));
+                    if (generated != valid) {
+                        throw new IllegalStateException(String.format(Locale.ROOT,
+                                "%s for %c: Rules says %s, MoveGenerator says %s (hash %016x)",
+                                Move.toNotation(Move.of(from, to, false)), side,
+                                valid ? "legal" : "illegal", generated ? "legal" : "illegal", board.getHash()));
+                    }
+                }
+            }
+        }
+
+        long checked = 1;
+        if (depth > 0 && !isGameOver(board)) {
+            for (int i = 0; i < moves.size(); i++) {
+                board.makeMove(moves.get(i));
+                checked += verifyAgainstRules(board, depth - 1);
+                board.unmakeMove();
+            }
+        }
+        return checked;
+    }
+
+    /**
+     * Times serial, parallel and cached perft for each depth up to maxDepth, as a move generation benchmark.
+     * @param board The game board, with the side to move set.
+     * @param maxDepth int deepest perft to run.
+     * @param threads int parallelism of the pool used for parallel perft.
+     * @return List of lines such as "depth=4 nodes=... serial_ms=... parallel_ms=... cached_ms=... serial_nps=...".
+     */
+    public static List<String> throughputReport(Board board, int maxDepth, int threads) {
+        List<String> lines = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try {
+            // Untimed run first so the JIT has compiled the generator before anything is measured
+            perft(board, Math.min(maxDepth, 3));
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                long start = System.nanoTime();
+                long nodes = perft(board, depth);
+                long serial = System.nanoTime() - start;
+                start = System.nanoTime();
+                long parallelNodes = parallelPerft(board, depth, pool);
+                long parallel = System.nanoTime() - start;
+                start = System.nanoTime();
+                long cachedNodes = cachedPerft(board, depth, 64);
+                long cached = System.nanoTime() - start;
+                if (parallelNodes != nodes || cachedNodes != nodes) {
+                    throw new IllegalStateException("perft " + depth + " disagrees: serial " + nodes
+                            + ", parallel " + parallelNodes + ", cached " + cachedNodes);
+                }
+                lines.add(String.format(Locale.ROOT, "depth=%d nodes=%d serial_ms=%.1f parallel_ms=%.1f cached_ms=%.1f serial_nps=%d",
+                        depth, nodes, serial / 1e6, parallel / 1e6, cached / 1e6, nodes * 1_000_000_000L / Math.max(1, serial)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return lines;
+    }
+
+    private static boolean isGameOver(Board board) {
+        return board.isConnected('B') || board.isConnected('W');
+    }
+}
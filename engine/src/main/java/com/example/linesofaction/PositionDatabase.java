@@ -0,0 +1,362 @@
+package com.example.linesofaction;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Statistics for positions seen in recorded games, kept in a memory-mapped file keyed by
+ * {@link Board#getHash()}. Each position has its visit count, the games black and white went on to
+ * win, and the move that scored best from it. The file is one open-addressing hash table with linear
+ * probing: a lookup reads the slots straight from the mapping, so nothing is deserialized and the
+ * OS page cache decides what stays in memory.
+ * Lookups may run on several threads at once; building and recording are single-threaded.
+ */
+public final class PositionDatabase implements Closeable {
+    // Header: magic "LOAP", version, capacity and number of positions, padded to one slot
+    private static final int MAGIC = 0x4C4F4150;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SIZE_OFFSET = 12;
+
+    // Slot: key, visits, black wins, white wins, best move and flags, padded to 32 bytes
+    private static final int SLOT_BYTES = 32;
+    private static final int VISITS_OFFSET = 8;
+    private static final int BLACK_WINS_OFFSET = 12;
+    private static final int WHITE_WINS_OFFSET = 16;
+    private static final int BEST_MOVE_OFFSET = 20;
+    private static final int FLAGS_OFFSET = 24;
+    private static final int BEST_MOVE_CHOSEN = 1;
+
+    // A single mapping holds at most 2 GB
+    public static final int MAX_CAPACITY = 1 << 25;
+    // Lookups slow down sharply as linear probing fills the table
+    private static final double MAX_LOAD = 0.75;
+
+    private final RandomAccessFile file;
+    private final MappedByteBuffer slots;
+    private final int capacity;
+    private final int mask;
+    private final int indexShift;
+    private final boolean writable;
+    private int size;
+
+    private PositionDatabase(RandomAccessFile file, MappedByteBuffer slots, int capacity, int size, boolean writable) {
+        this.file = file;
+        this.slots = slots;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.indexShift = 64 - Integer.numberOfTrailingZeros(capacity);
+        this.size = size;
+        this.writable = writable;
+    }
+
+    /**
+     * Creates an empty database, replacing the file.
+     * @param databaseFile File to create.
+     * @param capacity int number of slots; rounded up to a power of two and at most {@link #MAX_CAPACITY}.
+     * Positions fill at most three quarters of them.
+     * @return PositionDatabase open for recording.
+     * @throws IOException if the file cannot be created or mapped.
+     */
+    public static PositionDatabase create(File databaseFile, int capacity) throws IOException {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ": " + capacity);
+        }
+        int slotCount = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        RandomAccessFile file = new RandomAccessFile(databaseFile, "rw");
+        try {
+            long bytes = HEADER_BYTES + (long) slotCount * SLOT_BYTES;
+            // Shrinking to zero first makes the extended file read back as zeros, i.e. empty slots
+            file.setLength(0);
+            file.setLength(bytes);
+            MappedByteBuffer slots = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            slots.putInt(0, MAGIC);
+            slots.putInt(4, VERSION);
+            slots.putInt(CAPACITY_OFFSET, slotCount);
+            slots.putInt(SIZE_OFFSET, 0);
+            return new PositionDatabase(file, slots, slotCount, 0, true);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens an existing database for lookups.
+     * @param databaseFile File written by {@link #create(File, int)} or {@link #build}.
+     * @return PositionDatabase open read-only.
+     * @throws IOException if the file cannot be mapped or is not a position database.
+     */
+    public static PositionDatabase open(File databaseFile) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(databaseFile, "r");
+        try {
+            long bytes = file.length();
+            if (bytes < HEADER_BYTES) {
+                throw new IOException("Not a position database: " + databaseFile);
+            }
+            MappedByteBuffer slots = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+            if (slots.getInt(0) != MAGIC) {
+                throw new IOException("Not a position database: " + databaseFile);
+            }
+            if (slots.getInt(4) != VERSION) {
+                throw new IOException("Unsupported position database version: " + slots.getInt(4));
+            }
+            int capacity = slots.getInt(CAPACITY_OFFSET);
+            if (Integer.bitCount(capacity) != 1 || HEADER_BYTES + (long) capacity * SLOT_BYTES != bytes) {
+                throw new IOException("Corrupt position database: size does not match its capacity");
+            }
+            return new PositionDatabase(file, slots, capacity, slots.getInt(SIZE_OFFSET), false);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Builds a database from a game record file in two passes. The first counts, for every position
+     * up to maxPly, how many games passed through it and who won them. The second chooses each
+     * position's best move: the legal move leading to the position where the mover scored best, counting
+     * a draw as half a win, among those reached in at least minVisits games. Unfinished games are skipped.
+     * @param recordFile File written by {@link GameRecordWriter}.
+     * @param databaseFile File to create, replacing it.
+     * @param capacity int number of slots, as for {@link #create(File, int)}.
+     * @param maxPly int plies into each game to record positions for.
+     * @param minVisits int games a position must appear in to be chosen as the result of a best move.
+     * @return PositionDatabase open for recording, already forced to disk.
+     * @throws IOException if a file cannot be read or written.
+     * @throws IllegalStateException if the positions do not fit in the capacity.
+     */
+    public static PositionDatabase build(File recordFile, File databaseFile, int capacity, int maxPly, int minVisits) throws IOException {
+        PositionDatabase database = create(databaseFile, capacity);
+        try {
+            try (GameRecordReader reader = GameRecordReader.open(recordFile)) {
+                for (GameRecord game = reader.next(); game != null; game = reader.next()) {
+                    if (game.getResult() == GameRecord.UNFINISHED) {
+                        continue;
+                    }
+                    Board board = GameRecord.createBoard(game.getSetup());
+                    int plies = Math.min(maxPly, game.getMoveCount());
+                    // Positions at plies 0 to plies, so the last counted move leads to a known position too
+                    database.record(board.getHash(), game.getResult());
+                    for (int i = 0; i < plies; i++) {
+                        board.makeMove(game.getMove(i));
+                        database.record(board.getHash(), game.getResult());
+                    }
+                }
+            }
+
+            MoveList moves = new MoveList();
+            try (GameRecordReader reader = GameRecordReader.open(recordFile)) {
+                for (GameRecord game = reader.next(); game != null; game = reader.next()) {
+                    if (game.getResult() == GameRecord.UNFINISHED) {
+                        continue;
+                    }
+                    Board board = GameRecord.createBoard(game.getSetup());
+                    int plies = Math.min(maxPly, game.getMoveCount());
+                    for (int i = 0; i < plies; i++) {
+                        int move = game.getMove(i);
+                        // The setups where white starts leave the board's side to move at black, so go by the piece moved
+                        char side = (board.getPieces('B') & (1L << Move.from(move))) != 0 ? 'B' : 'W';
+                        database.chooseBestMove(board, side, moves, minVisits);
+                        board.makeMove(move);
+                    }
+                }
+            }
+            database.force();
+            return database;
+        } catch (IOException | RuntimeException e) {
+            database.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Counts one more game through a position.
+     * @param key long position hash.
+     * @param result char 'B' or 'W' for the color that won the game, or {@link GameRecord#DRAW}.
+     * @throws IllegalStateException if the database is read-only or full.
+     */
+    public void record(long key, char result) {
+        checkWritable();
+        int slot = find(key);
+        if (slot < 0) {
+            if (size + 1 > capacity * MAX_LOAD) {
+                throw new IllegalStateException("Position database is full at " + size + " positions");
+            }
+            slot = -slot - 1;
+            int offset = offset(slot);
+            slots.putLong(offset, key);
+            size++;
+            slots.putInt(SIZE_OFFSET, size);
+        }
+        int offset = offset(slot);
+        slots.putInt(offset + VISITS_OFFSET, slots.getInt(offset + VISITS_OFFSET) + 1);
+        if (result == 'B') {
+            slots.putInt(offset + BLACK_WINS_OFFSET, slots.getInt(offset + BLACK_WINS_OFFSET) + 1);
+        } else if (result == 'W') {
+            slots.putInt(offset + WHITE_WINS_OFFSET, slots.getInt(offset + WHITE_WINS_OFFSET) + 1);
+        }
+    }
+
+    /**
+     * Chooses and stores the best move of the board's position, once per position.
+     */
+    private void chooseBestMove(Board board, char side, MoveList moves, int minVisits) {
+        int slot = find(board.getHash());
+        if (slot < 0) {
+            return;
+        }
+        int offset = offset(slot);
+        if ((slots.getInt(offset + FLAGS_OFFSET) & BEST_MOVE_CHOSEN) != 0) {
+            return;
+        }
+        MoveGenerator.generateMoves(board, side, moves);
+        int bestMove = Move.NONE;
+        double bestScore = -1;
+        int bestVisits = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            board.makeMove(move);
+            int child = find(board.getHash());
+            board.unmakeMove();
+            if (child < 0 || getVisits(child) < Math.max(1, minVisits)) {
+                continue;
+            }
+            int visits = getVisits(child);
+            int wins = side == 'B' ? getBlackWins(child) : getWhiteWins(child);
+            int draws = visits - getBlackWins(child) - getWhiteWins(child);
+            double score = (wins + 0.5 * draws) / visits;
+            if (score > bestScore || (score == bestScore && visits > bestVisits)) {
+                bestMove = move;
+                bestScore = score;
+                bestVisits = visits;
+            }
+        }
+        slots.putInt(offset + BEST_MOVE_OFFSET, bestMove);
+        slots.putInt(offset + FLAGS_OFFSET, slots.getInt(offset + FLAGS_OFFSET) | BEST_MOVE_CHOSEN);
+    }
+
+    /**
+     * Looks up a position.
+     * @param key long position hash.
+     * @return int slot holding the position, or -(empty slot) - 1 where it would be stored.
+     */
+    public int find(long key) {
+        // Mixing again guards linear probing against keys that are not random, which cluster badly
+        int slot = (int) (Zobrist.mix(key) >>> indexShift);
+        while (true) {
+            int offset = offset(slot);
+            if (slots.getInt(offset + VISITS_OFFSET) == 0) {
+                return -slot - 1;
+            }
+            if (slots.getLong(offset) == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the database's best move for the board if it is well enough supported and legal here.
+     * Checking legality guards against two positions sharing a hash.
+     * @param board The game board.
+     * @param color char 'B' or 'W' for the side to move.
+     * @param minVisits int games the position must appear in.
+     * @return int packed move, or {@link Move#NONE} if the database has no answer.
+     */
+    public int probe(Board board, char color, int minVisits) {
+        int slot = find(board.getHash());
+        if (slot < 0 || getVisits(slot) < minVisits) {
+            return Move.NONE;
+        }
+        int move = getBestMove(slot);
+        return move != Move.NONE && MoveGenerator.isLegal(board, color, move) ? move : Move.NONE;
+    }
+
+    /**
+     * @param slot int slot index, from {@link #find(long)} or any index below {@link #getCapacity()}.
+     * @return long hash of the position in the slot; meaningless if the slot is empty.
+     */
+    public long getKey(int slot) {
+        return slots.getLong(offset(slot));
+    }
+
+    /**
+     * @param slot int slot index, from {@link #find(long)} or any index below {@link #getCapacity()}.
+     * @return int times a recorded game reached the position, 0 for an empty slot.
+     */
+    public int getVisits(int slot) {
+        return slots.getInt(offset(slot) + VISITS_OFFSET);
+    }
+
+    /**
+     * @param slot int slot returned by {@link #find(long)}.
+     * @return int of those, the times black went on to win.
+     */
+    public int getBlackWins(int slot) {
+        return slots.getInt(offset(slot) + BLACK_WINS_OFFSET);
+    }
+
+    /**
+     * @param slot int slot returned by {@link #find(long)}.
+     * @return int of those, the times white went on to win.
+     */
+    public int getWhiteWins(int slot) {
+        return slots.getInt(offset(slot) + WHITE_WINS_OFFSET);
+    }
+
+    /**
+     * @param slot int slot returned by {@link #find(long)}.
+     * @return int packed best move, or {@link Move#NONE} if none was chosen.
+     */
+    public int getBestMove(int slot) {
+        return slots.getInt(offset(slot) + BEST_MOVE_OFFSET);
+    }
+
+    /**
+     * @return int number of positions stored.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return int number of slots.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Writes recorded changes through to the file.
+     */
+    public void force() {
+        if (writable) {
+            slots.force();
+        }
+    }
+
+    /**
+     * Flushes changes and closes the file. The mapping itself is released when it is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        file.close();
+    }
+
+    private void checkWritable() {
+        if (!writable) {
+            throw new IllegalStateException("Position database is open read-only");
+        }
+    }
+
+    private static int offset(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+}
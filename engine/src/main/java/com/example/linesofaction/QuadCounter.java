@@ -0,0 +1,108 @@
+package com.example.linesofaction;
+
+/**
+ * Counts the 2x2 windows ("quads") of one color by pattern, including the windows hanging over the board edge.
+ * Adding or removing a piece only changes the four quads around it, so counts are updated from the
+ * ring pattern of the piece's neighbours.
+ */
+public final class QuadCounter {
+    // Quads with one piece, three pieces, four pieces, and two pieces on a diagonal
+    public static final int Q1 = 0;
+    public static final int Q3 = 1;
+    public static final int Q4 = 2;
+    public static final int QD = 3;
+    public static final int TYPES = 4;
+
+    // QUAD_TYPES[pattern]: type of a quad whose corners (top-left, top-right, bottom-left, bottom-right) are bits 0-3, or -1
+    private static final int[] QUAD_TYPES = new int[16];
+    // ADD_DELTAS[ringPattern * TYPES + type]: change in each count when a piece lands inside that ring of neighbours
+    private static final int[] ADD_DELTAS = new int[256 * TYPES];
+
+    static {
+        for (int pattern = 0; pattern < 16; pattern++) {
+            int count = Integer.bitCount(pattern);
+            if (count == 1) {
+                QUAD_TYPES[pattern] = Q1;
+            } else if (count == 3) {
+                QUAD_TYPES[pattern] = Q3;
+            } else if (count == 4) {
+                QUAD_TYPES[pattern] = Q4;
+            } else if (pattern == 0b1001 || pattern == 0b0110) {
+                QUAD_TYPES[pattern] = QD;
+            } else {
+                QUAD_TYPES[pattern] = -1;
+            }
+        }
+        // Lay each ring out on a 3x3 grid around (1,1) and compare its four quads without and with the middle piece
+        for (int ring = 0; ring < 256; ring++) {
+            boolean[][] cells = new boolean[3][3];
+            for (int i = 0; i < 8; i++) {
+                cells[1 + GroupTracker.RING_ROW_STEPS[i]][1 + GroupTracker.RING_COL_STEPS[i]] = (ring & (1 << i)) != 0;
+            }
+            for (int top = 0; top < 2; top++) {
+                for (int left = 0; left < 2; left++) {
+                    int without = quadPattern(cells, top, left);
+                    cells[1][1] = true;
+                    int with = quadPattern(cells, top, left);
+                    cells[1][1] = false;
+                    if (QUAD_TYPES[without] >= 0) {
+                        ADD_DELTAS[ring * TYPES + QUAD_TYPES[without]]--;
+                    }
+                    if (QUAD_TYPES[with] >= 0) {
+                        ADD_DELTAS[ring * TYPES + QUAD_TYPES[with]]++;
+                    }
+                }
+            }
+        }
+    }
+
+    private QuadCounter() {
+    }
+
+    private static int quadPattern(boolean[][] cells, int top, int left) {
+        return (cells[top][left] ? 1 : 0) | (cells[top][left + 1] ? 2 : 0)
+                | (cells[top + 1][left] ? 4 : 0) | (cells[top + 1][left + 1] ? 8 : 0);
+    }
+
+    /**
+     * Counts every quad of a set of pieces from scratch.
+     * @param pieces long bitboard of one color's pieces.
+     * @param counts int[] receiving the counts at counts[offset + type].
+     * @param offset int index of the Q1 count in counts.
+     */
+    public static void countQuads(long pieces, int[] counts, int offset) {
+        for (int type = 0; type < TYPES; type++) {
+            counts[offset + type] = 0;
+        }
+        // Top-left corners from -1 to 7 so that the edge squares appear in four quads each
+        for (int top = -1; top < Bitboards.SIZE; top++) {
+            for (int left = -1; left < Bitboards.SIZE; left++) {
+                int pattern = (isSet(pieces, top, left) ? 1 : 0) | (isSet(pieces, top, left + 1) ? 2 : 0)
+                        | (isSet(pieces, top + 1, left) ? 4 : 0) | (isSet(pieces, top + 1, left + 1) ? 8 : 0);
+                if (QUAD_TYPES[pattern] >= 0) {
+                    counts[offset + QUAD_TYPES[pattern]]++;
+                }
+            }
+        }
+    }
+
+    private static boolean isSet(long pieces, int row, int col) {
+        return row >= 0 && row < Bitboards.SIZE && col >= 0 && col < Bitboards.SIZE
+                && (pieces & Bitboards.squareMask(row, col)) != 0;
+    }
+
+    /**
+     * Updates the quad counts for a piece of the same color arriving on or leaving a square.
+     * @param counts int[] holding the counts at counts[offset + type].
+     * @param offset int index of the Q1 count in counts.
+     * @param pieces long bitboard of the color; whether it includes square itself does not matter.
+     * @param square int square index of the piece.
+     * @param sign int +1 when the piece arrives, -1 when it leaves.
+     */
+    public static void update(int[] counts, int offset, long pieces, int square, int sign) {
+        int base = GroupTracker.ringPattern(pieces, square) * TYPES;
+        for (int type = 0; type < TYPES; type++) {
+            counts[offset + type] += sign * ADD_DELTAS[base + type];
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.linesofaction;
+
+import java.util.Random;
+
+/**
+ * Plays a uniformly random legal move.
+ */
+public class RandomMoveStrategy implements MoveStrategy {
+    private final Random random;
+    private final MoveList moves = new MoveList();
+
+    public RandomMoveStrategy() {
+        this(new Random());
+    }
+
+    /**
+     * @param random Random source, e.g. seeded for reproducible games.
+     */
+    public RandomMoveStrategy(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public int selectMove(Board board, char pieceType) {
+        MoveGenerator.generateMoves(board, pieceType, moves);
+        return moves.isEmpty() ? Move.NONE : moves.get(random.nextInt(moves.size()));
+    }
+}
@@ -1,7 +1,5 @@
 package com.example.linesofaction;
 
-import androidx.annotation.Nullable;
-
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -9,8 +7,12 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Scanner;
 import com.example.linesofaction.Rules.Pair;
+import com.example.linesofaction.util.LogLevel;
+import com.example.linesofaction.util.Logger;
 
 public class Round {
+    private static final Logger LOG = Logger.getLogger(Round.class);
+
     private Player player1;
     private Player player2;
     private Player currentPlayer;
@@ -22,15 +24,18 @@ public class Round {
     private Rules rules;
     private ComputerPlayer computerPlayer;
 
-    private static int winsForPlayer1 = 0;
-    private static int winsForPlayer2 = 0;
-    private List<String> moveLog;
+    // Rounds won by each player in this session, carried from round to round through the constructor
+    private int winsForPlayer1;
+    private int winsForPlayer2;
+    // Packed moves played this round, in order, for the game record
+    private List<Integer> moveLog;
+    private int boardSetup;
     private Map<Character, Integer> colToIndex;
     private Random random;
     private Scanner scanner;
     private Pair<Pair<Integer, Integer>, Pair<Integer, Integer>> lastComputerMove;
 
-    public Round(Player p1, Player p2, @Nullable Player initialWinner, @Nullable Integer boardSetup, @Nullable Integer Player1Score, @Nullable Integer Player2Score, @Nullable Integer WinsForPlayer1, Integer WinsForPlayer2) {
+    public Round(Player p1, Player p2, Player initialWinner, Integer boardSetup, Integer Player1Score, Integer Player2Score, Integer WinsForPlayer1, Integer WinsForPlayer2) {
         player1 = p1;
         player2 = p2;
         currentPlayer = null;
@@ -49,8 +54,8 @@ public class Round {
         colToIndex.put('B', 1);
         random = new Random();
 
-        System.out.println("Name of player 1: " + p1.getName());
-        System.out.println("Name of player 2: " + p2.getName());
+        LOG.info("Name of player 1: " + p1.getName());
+        LOG.info("Name of player 2: " + p2.getName());
         if (Player1Score != null && Player2Score != null) {
             this.player1Score = Player1Score;
             this.player2Score = Player2Score;
@@ -70,7 +75,11 @@ public class Round {
         winsForPlayer2 = (WinsForPlayer2 != null) ? WinsForPlayer2 : 0;
 
         scanner = new Scanner(System.in);
+        this.boardSetup = GameRecord.STANDARD_SETUP;
         if (boardSetup != null) {
+            if (boardSetup >= 1 && boardSetup <= GameRecord.MAX_SETUP) {
+                this.boardSetup = boardSetup;
+            }
             switch (boardSetup) {
                 case 1:
                     gameBoard.case1Board();
@@ -120,8 +129,8 @@ public class Round {
             gameBoard.resetBoard();
         }
 
-        System.out.println("Scores for player1 " + player1Score);
-        System.out.println("Scores for player2 " + player2Score);
+        LOG.info("Scores for player1 " + player1Score);
+        LOG.info("Scores for player2 " + player2Score);
     }
 
     public boolean coinToss(boolean userChoiceHeads) {
@@ -146,30 +155,32 @@ public class Round {
         } else {
             currentPlayer = player1;
         }
-        System.out.println("It's now " + currentPlayer.getName() + "'s turn.");
+        if (LOG.isEnabled(LogLevel.DEBUG)) {
+            LOG.debug("It's now " + currentPlayer.getName() + "'s turn.");
+        }
     }
 
     public Player getCurrentPlayer() {
         return currentPlayer;
     }
 
-    public void startGame(@Nullable Player startingPlayer, @Nullable Boolean userWonCoinToss) {
-        System.out.println("Starting a new game...");
+    public void startGame(Player startingPlayer, Boolean userWonCoinToss) {
+        LOG.info("Starting a new game...");
         if (winner != null) {
-            System.out.println("Last round's winner: " + winner.getName() + " (" + winner.getPieceType() + ")");
+            LOG.info("Last round's winner: " + winner.getName() + " (" + winner.getPieceType() + ")");
         } else {
-            System.out.println("No winner from the last round.");
+            LOG.info("No winner from the last round.");
         }
 
         if (userWonCoinToss != null) {
             currentPlayer = userWonCoinToss ? player1 : player2;
-            System.out.println("Coin toss decided: " + currentPlayer.getName() + " will start (User choice was " + userWonCoinToss + ")");
+            LOG.info("Coin toss decided: " + currentPlayer.getName() + " will start (User choice was " + userWonCoinToss + ")");
         } else if (startingPlayer != null) {
             currentPlayer = startingPlayer;
-            System.out.println("Starting player set explicitly: " + currentPlayer.getName());
+            LOG.info("Starting player set explicitly: " + currentPlayer.getName());
         } else {
             currentPlayer = coinToss(true) ? player1 : player2;
-            System.out.println("No starting player specified, defaulting to coin toss. " + currentPlayer.getName() + " will start.");
+            LOG.info("No starting player specified, defaulting to coin toss. " + currentPlayer.getName() + " will start.");
         }
 
         if (winner == null) {
@@ -180,37 +191,41 @@ public class Round {
                 player1.setPieceType('W');
                 player2.setPieceType('B');
             }
-            System.out.println(player1.getName() + " has pieces of type '" + player1.getPieceType() + "'");
-            System.out.println(player2.getName() + " has pieces of type '" + player2.getPieceType() + "'");
+            LOG.info(player1.getName() + " has pieces of type '" + player1.getPieceType() + "'");
+            LOG.info(player2.getName() + " has pieces of type '" + player2.getPieceType() + "'");
         } else {
-            System.out.println("Maintaining previous piece settings from last game: " + player1.getName() + " (" + player1.getPieceType() + "), " + player2.getName() + " (" + player2.getPieceType() + ")");
+            LOG.info("Maintaining previous piece settings from last game: " + player1.getName() + " (" + player1.getPieceType() + "), " + player2.getName() + " (" + player2.getPieceType() + ")");
         }
 
-        System.out.println("The game has started. It is now " + currentPlayer.getName() + "'s turn with pieces of type '" + currentPlayer.getPieceType() + "'.");
+        LOG.info("The game has started. It is now " + currentPlayer.getName() + "'s turn with pieces of type '" + currentPlayer.getPieceType() + "'.");
     }
 
     public boolean nextMove(int fromRow, int fromCol, int toRow, int toCol) {
-        System.out.println("Attempting to move piece from (" + fromRow + "," + fromCol + ") to (" + toRow + "," + toCol + ")");
+        if (LOG.isEnabled(LogLevel.DEBUG)) {
+            LOG.debug("Attempting to move piece from (" + fromRow + "," + fromCol + ") to (" + toRow + "," + toCol + ")");
+        }
 
         char selectedPiece = gameBoard.getPieceAt(fromRow, fromCol);
         char playerPieceType = currentPlayer.getPieceType();
 
-        System.out.println("Current player piece type: " + playerPieceType);
+        if (LOG.isEnabled(LogLevel.DEBUG)) {
+            LOG.debug("Current player piece type: " + playerPieceType);
+        }
 
         if (selectedPiece == '.' || selectedPiece != playerPieceType) {
-            System.out.println("No piece to move from the selected position (" + fromRow + "," + fromCol + ") or piece does not belong to player.");
-            gameBoard.displayBoard();
+            LOG.info("No piece to move from the selected position (" + fromRow + "," + fromCol + ") or piece does not belong to player.");
+            logBoard();
             return false;
         }
 
         if (!rules.isValidMove(gameBoard, currentPlayer, fromRow, fromCol, toRow, toCol)) {
-            System.out.println("The move is not valid according to the game rules.");
+            LOG.info("The move is not valid according to the game rules.");
             return false;
         }
 
         if (gameBoard.movePiece(fromRow, fromCol, toRow, toCol, playerPieceType)) {
-            System.out.println("Move executed successfully.");
-            gameBoard.displayBoard();
+            LOG.debug("Move executed successfully.");
+            logBoard();
 
             logMove(fromRow, fromCol, toRow, toCol);
 
@@ -219,7 +234,7 @@ public class Round {
             if (blackConnected || whiteConnected) {
                 determineWinner();
                 updateScores();
-                System.out.println("Round over! " + winner.getName() + " wins!");
+                LOG.info("Round over! " + winner.getName() + " wins!");
                 return true;
             } else {
                 switchTurn();
@@ -230,18 +245,20 @@ public class Round {
                     if (move != null) {
                         Pair<Integer, Integer> start = computerPlayer.getMoveStart();
                         Pair<Integer, Integer> end = computerPlayer.getMoveEnd();
-                        System.out.println("Computer player is making a move from (" + start.getFirst() + "," + start.getSecond() + ") to (" + end.getFirst() + "," + end.getSecond() + ")");
-                        List<Pair<Integer, Integer>> captures = computerPlayer.getCapturesForMove(start, end);
-                        if (!captures.isEmpty()) {
-                            System.out.print("Captures at: ");
-                            for (Pair<Integer, Integer> capture : captures) {
-                                System.out.print("(" + capture.getFirst() + "," + capture.getSecond() + ") ");
+                        if (LOG.isEnabled(LogLevel.DEBUG)) {
+                            LOG.debug("Computer player is making a move from (" + start.getFirst() + "," + start.getSecond() + ") to (" + end.getFirst() + "," + end.getSecond() + ")");
+                            List<Pair<Integer, Integer>> captures = computerPlayer.getCapturesForMove(start, end);
+                            if (!captures.isEmpty()) {
+                                StringBuilder captureText = new StringBuilder("Captures at: ");
+                                for (Pair<Integer, Integer> capture : captures) {
+                                    captureText.append("(").append(capture.getFirst()).append(",").append(capture.getSecond()).append(") ");
+                                }
+                                LOG.debug(captureText.toString());
                             }
-                            System.out.println();
                         }
                         gameBoard.movePiece(start.getFirst(), start.getSecond(), end.getFirst(), end.getSecond(), currentPlayer.getPieceType());
                         logMove(start.getFirst(), start.getSecond(), end.getFirst(), end.getSecond());
-                        gameBoard.displayBoard();
+                        logBoard();
                         //currentPlayer = player1;
                         // Switch turn to human player after computer move
                         //switchTurn();
@@ -250,60 +267,93 @@ public class Round {
                 //System.out.println("It is now " + currentPlayer.getName() + "'s turn.");
             }
         } else {
-            System.out.println("Move could not be executed.");
+            LOG.info("Move could not be executed.");
             return false;
         }
 
         return true;
     }
 
-    private void logMove(int fromRow, int fromCol, int toRow, int toCol) {
-        String fromPosition = "[" + fromRow + "," + fromCol + "]";
-        String toPosition = "[" + toRow + "," + toCol + "]";
-        System.out.println(currentPlayer.getName() + " moves from " + fromPosition + " to " + toPosition);
+    /**
+     * Logs the board at debug level, building its text only when that level is on.
+     */
+    private void logBoard() {
+        if (LOG.isEnabled(LogLevel.DEBUG)) {
+            LOG.debug(gameBoard.toDisplayString());
+        }
     }
 
-    public void updateScores() {
-        int[] counts = gameBoard.countPiecesByColor();
-        int blackCount = counts[0];
-        int whiteCount = counts[1];
+    private void logMove(int fromRow, int fromCol, int toRow, int toCol) {
+        if (LOG.isEnabled(LogLevel.DEBUG)) {
+            LOG.debug(currentPlayer.getName() + " moves from [" + fromRow + "," + fromCol + "] to [" + toRow + "," + toCol + "]");
+        }
+        moveLog.add(Move.of(Bitboards.square(fromRow, fromCol), Bitboards.square(toRow, toCol), false));
+    }
 
-        int player1Pieces = player1.getPieceType() == 'B' ? blackCount : whiteCount;
-        int player2Pieces = player2.getPieceType() == 'B' ? blackCount : whiteCount;
+    /**
+     * Builds a record of the round so far, for saving with a GameRecordWriter.
+     * @return GameRecord with the players by color, the board setup, the moves played and the
+     * winner's color, or GameRecord.UNFINISHED if nobody has won yet.
+     */
+    public GameRecord toGameRecord() {
+        boolean player1Black = player1.getPieceType() == 'B';
+        String black = player1Black ? player1.getName() : player2.getName();
+        String white = player1Black ? player2.getName() : player1.getName();
+        char result = winner != null ? winner.getPieceType() : GameRecord.UNFINISHED;
+        int[] moves = new int[moveLog.size()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = moveLog.get(i);
+        }
+        return new GameRecord(black, white, boardSetup, result, moves, moves.length);
+    }
 
+    public void updateScores() {
         if (winner == player1) {
-            int scoreDifference = player1Pieces - player2Pieces;
+            int scoreDifference = scoreDifference(gameBoard, player1.getPieceType());
             player1Score += scoreDifference;
-            System.out.println("Score difference: " + scoreDifference);
+            LOG.info("Score difference: " + scoreDifference);
         } else if (winner == player2) {
-            int scoreDifference = player2Pieces - player1Pieces;
+            int scoreDifference = scoreDifference(gameBoard, player2.getPieceType());
             player2Score += scoreDifference;
-            System.out.println("Score difference: " + scoreDifference);
+            LOG.info("Score difference: " + scoreDifference);
         }
     }
 
+    /**
+     * Returns the points a round's winner scores: their pieces left minus the loser's.
+     * @param board Board at the end of the round.
+     * @param winnerColor char 'B' or 'W', the winner's piece type.
+     * @return int score difference.
+     */
+    public static int scoreDifference(Board board, char winnerColor) {
+        int[] counts = board.countPiecesByColor();
+        return winnerColor == 'B' ? counts[0] - counts[1] : counts[1] - counts[0];
+    }
+
     public void determineWinner() {
         boolean player1Connected = checkConnectedGroup(player1.getPieceType());
         boolean player2Connected = checkConnectedGroup(player2.getPieceType());
 
         if (player1Connected && !player2Connected) {
-            System.out.println(player1.getName() + " wins this round!");
+            LOG.info(player1.getName() + " wins this round!");
             winner = player1;
             player1.setRoundsWon(player1.getRoundsWon() + 1);
         } else if (!player1Connected && player2Connected) {
-            System.out.println(player2.getName() + " wins this round!");
+            LOG.info(player2.getName() + " wins this round!");
             winner = player2;
             player2.setRoundsWon(player2.getRoundsWon() + 1);
         } else if (player1Connected) {
-            System.out.println("Both players seem to have connected groups. Check for a possible error.");
+            LOG.warn("Both players seem to have connected groups. Check for a possible error.");
         } else {
-            System.out.println("No player has formed a connected group yet.");
+            LOG.debug("No player has formed a connected group yet.");
         }
 
         if (winner != null) {
-            System.out.println("Current winner: " + winner.getName());
+            if (LOG.isEnabled(LogLevel.DEBUG)) {
+                LOG.debug("Current winner: " + winner.getName());
+            }
         } else {
-            System.out.println("No winner determined at this point.");
+            LOG.debug("No winner determined at this point.");
         }
     }
 
@@ -311,82 +361,33 @@ public class Round {
         determineWinner();
 
         if (winner != null) {
-            System.out.println(winner.getName() + " has won the game!");
+            LOG.info(winner.getName() + " has won the game!");
             if (winner.equals(player1)) {
                 winsForPlayer1++;
             } else if (winner.equals(player2)) {
                 winsForPlayer2++;
             }
-            System.out.println("Updated scores: Player 1 (wins: " + winsForPlayer1 + "), Player 2 (wins: " + winsForPlayer2 + ")");
+            LOG.info("Updated scores: Player 1 (wins: " + winsForPlayer1 + "), Player 2 (wins: " + winsForPlayer2 + ")");
             return true;
         }
 
         return false;
     }
 
-    static public int getWinsForPlayer1() {
+    public int getWinsForPlayer1() {
         return winsForPlayer1;
     }
 
-    static public int getWinsForPlayer2() {
+    public int getWinsForPlayer2() {
         return winsForPlayer2;
     }
 
     public boolean checkConnectedGroup(char color) {
-        int startRow = -1;
-        int startCol = -1;
-        boolean[][] visited = new boolean[8][8];
-
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                if (gameBoard.getPieceAt(row, col) == color) {
-                    startRow = row;
-                    startCol = col;
-                    break;
-                }
-            }
-            if (startRow != -1) break;
-        }
-
-        if (startRow == -1) return false;
-
-        dfs(startRow, startCol, color, visited);
-
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                if (gameBoard.getPieceAt(row, col) == color && !visited[row][col]) {
-                    return false;
-                }
-            }
-        }
-
-        return true;
-    }
-
-    private void dfs(int row, int col, char color, boolean[][] visited) {
-        int[] rowNbr = {-1, 1, 0, 0, -1, -1, 1, 1};
-        int[] colNbr = {0, 0, -1, 1, -1, 1, -1, 1};
-
-        visited[row][col] = true;
-
-        for (int k = 0; k < 8; k++) {
-            int newRow = row + rowNbr[k];
-            int newCol = col + colNbr[k];
-
-            if (isSafe(newRow, newCol, color, visited)) {
-                dfs(newRow, newCol, color, visited);
-            }
-        }
-    }
-
-    private boolean isSafe(int row, int col, char color, boolean[][] visited) {
-        boolean withinBounds = row >= 0 && row < 8 && col >= 0 && col < 8;
-
-        if (withinBounds && !visited[row][col] && gameBoard.getPieceAt(row, col) == color) {
-            return true;
+        // Most positions are far from connected, which the quad counts show without the full test
+        if (gameBoard.getMinimumGroupCount(color) > 1) {
+            return false;
         }
-
-        return false;
+        return gameBoard.isConnected(color);
     }
 
     public void setStartingPlayer(Player startingPlayer) {
@@ -400,9 +401,9 @@ public class Round {
 
     public void showRoundWinner() {
         if (winner != null) {
-            System.out.println("Round completed. Winner: " + winner.getName());
+            LOG.info("Round completed. Winner: " + winner.getName());
         } else {
-            System.out.println("Round completed. No winner determined.");
+            LOG.info("Round completed. No winner determined.");
         }
     }
 
@@ -413,10 +414,10 @@ public class Round {
     public Player determineStartingPlayer(boolean tossResult) {
         if (tossResult) {
             currentPlayer = player1;
-            System.out.println("Player " + player1.getName() + " wins the coin toss and will go first.");
+            LOG.info("Player " + player1.getName() + " wins the coin toss and will go first.");
         } else {
             currentPlayer = player2;
-            System.out.println("Player " + player2.getName() + " wins the coin toss and will go first.");
+            LOG.info("Player " + player2.getName() + " wins the coin toss and will go first.");
         }
         return currentPlayer;
     }
@@ -1,10 +1,14 @@
 package com.example.linesofaction;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import com.example.linesofaction.util.LogLevel;
+import com.example.linesofaction.util.Logger;
+
 public class Rules {
+    private static final Logger LOG = Logger.getLogger(Rules.class);
+
     /**
      * Determines if the path from the start position to the destination is clear of other pieces.
      * @param board The game board.
@@ -13,7 +17,7 @@ public class Rules {
      * @param endRow Destination row of the piece.
      * @param endCol Destination column of the piece.
      * @param playerPieceType The type of the player's piece.
-     * @param capturePositions A list to hold any positions that could be captured.
+     * @param capturePositions A list to hold any positions that could be captured, or null if they are not needed.
      * @return true if the path is clear, otherwise false.
      */
 /*    public boolean isPathClear(Board board, int startRow, int startCol, int endRow, int endCol, char playerPieceType, List<Pair<Integer, Integer>> capturePositions) {
@@ -64,7 +68,9 @@ public class Rules {
 
         // Check the piece at the destination
         if (pieceAtDestination != '.' && pieceAtDestination != playerPieceType) {
-            capturePositions.add(new Pair<>(endRow, endCol));
+            if (capturePositions != null) {
+                capturePositions.add(new Pair<>(endRow, endCol));
+            }
             return true; // Path is clear, and an opponent's piece can be captured
         } else if (pieceAtDestination == playerPieceType) {
             return false; // Path is blocked by player's own piece
@@ -117,8 +123,7 @@ public class Rules {
         }*/
 
         // Ensure the path between start and end positions is clear
-        List<Pair<Integer, Integer>> tempCaptures = new ArrayList<>();
-        if (!isPathClear(board, startRow, startCol, endRow, endCol, player.getPieceType(), tempCaptures)) {
+        if (!isPathClear(board, startRow, startCol, endRow, endCol, player.getPieceType(), null)) {
             //System.out.println("Debug: Path is not clear for the move.");
             return false;
         }
@@ -130,10 +135,11 @@ public class Rules {
         } else if (startCol == endCol) {
             piecesInLine = countPiecesInLine(board, startRow, startCol, 'V');
         } else {
-            char direction = determineDiagonalDirection(startRow, startCol, endRow, endCol);
             //piecesInLine = countDiagonalPieces(board, startRow, startCol, direction);
             piecesInLine = countDiagonalPieces(board, startRow, startCol, endRow, endCol);
-            System.out.println("The amount of pieces counted on the line: "+piecesInLine);
+            if (LOG.isEnabled(LogLevel.TRACE)) {
+                LOG.trace("The amount of pieces counted on the line: " + piecesInLine);
+            }
 
         }
 
@@ -166,26 +172,10 @@ public class Rules {
      * @return The number of pieces in the specified line.
      */
     public int countPiecesInLine(Board board, int startRow, int startCol, char direction) {
-        int count = 0;
-        int delta = (direction == 'H') ? 1 : 0; // Horizontal or vertical counting
+        int count = (direction == 'H') ? board.getLineCount(startRow, startCol, 0, 1) : board.getLineCount(startRow, startCol, 1, 0);
 
-        // Forward direction
-        for (int i = 1; i < 8; i++) {
-            int currentRow = startRow + ((direction == 'V') ? i : 0);
-            int currentCol = startCol + ((direction == 'H') ? i : 0);
-            if (!board.isPositionValid(currentRow, currentCol)) break;
-            if (board.getPieceAt(currentRow, currentCol) != '.') count++;
-        }
-
-        // Backward direction
-        for (int i = 1; i < 8; i++) {
-            int currentRow = startRow - ((direction == 'V') ? i : 0);
-            int currentCol = startCol - ((direction == 'H') ? i : 0);
-            if (!board.isPositionValid(currentRow, currentCol)) break;
-            if (board.getPieceAt(currentRow, currentCol) != '.') count++;
-        }
-
-        return count+1;
+        // The start square always counts as the moving piece
+        return board.getPieceAt(startRow, startCol) == '.' ? count + 1 : count;
     }
     /**
      * Counts the number of pieces on a diagonal from a starting position.
@@ -239,113 +229,12 @@ public class Rules {
     }*/
 
     public int countDiagonalPieces(Board board, int startRow, int startCol, int endRow, int endCol) {
-        int SIZE = 8; // Assuming an 8x8 board
-        String[] columnNotation = {"A", "B", "C", "D", "E", "F", "G", "H"};
-
         // Determine the direction increments
         int dRow = Integer.compare(endRow, startRow);
         int dCol = Integer.compare(endCol, startCol);
 
-        // Find the starting point of the diagonal
-        int startRowDiagonal = startRow;
-        int startColDiagonal = startCol;
-        while (startRowDiagonal > 0 && startColDiagonal > 0) {
-            startRowDiagonal--;
-            startColDiagonal--;
-        }
-        while (startRowDiagonal < SIZE - 1 && startColDiagonal < SIZE - 1) {
-            startRowDiagonal++;
-            startColDiagonal++;
-        }
-
-        // Find the ending point of the diagonal
-        int endRowDiagonal = startRow;
-        int endColDiagonal = startCol;
-        while (endRowDiagonal < SIZE - 1 && endColDiagonal < SIZE - 1) {
-            endRowDiagonal++;
-            endColDiagonal++;
-        }
-        while (endRowDiagonal > 0 && endColDiagonal > 0) {
-            endRowDiagonal--;
-            endColDiagonal--;
-        }
-
-        // Adjust based on the move direction
-        if (dRow > 0 && dCol > 0) { // Bottom-left to top-right
-            startRowDiagonal = startRow;
-            startColDiagonal = startCol;
-            while (startRowDiagonal > 0 && startColDiagonal > 0) {
-                startRowDiagonal--;
-                startColDiagonal--;
-            }
-            endRowDiagonal = startRow;
-            endColDiagonal = startCol;
-            while (endRowDiagonal < SIZE - 1 && endColDiagonal < SIZE - 1) {
-                endRowDiagonal++;
-                endColDiagonal++;
-            }
-        } else if (dRow > 0 && dCol < 0) { // Bottom-right to top-left
-            startRowDiagonal = startRow;
-            startColDiagonal = startCol;
-            while (startRowDiagonal > 0 && startColDiagonal < SIZE - 1) {
-                startRowDiagonal--;
-                startColDiagonal++;
-            }
-            endRowDiagonal = startRow;
-            endColDiagonal = startCol;
-            while (endRowDiagonal < SIZE - 1 && endColDiagonal > 0) {
-                endRowDiagonal++;
-                endColDiagonal--;
-            }
-        } else if (dRow < 0 && dCol > 0) { // Top-left to bottom-right
-            startRowDiagonal = startRow;
-            startColDiagonal = startCol;
-            while (startRowDiagonal < SIZE - 1 && startColDiagonal > 0) {
-                startRowDiagonal++;
-                startColDiagonal--;
-            }
-            endRowDiagonal = startRow;
-            endColDiagonal = startCol;
-            while (endRowDiagonal > 0 && endColDiagonal < SIZE - 1) {
-                endRowDiagonal--;
-                endColDiagonal++;
-            }
-        } else if (dRow < 0 && dCol < 0) { // Top-right to bottom-left
-            startRowDiagonal = startRow;
-            startColDiagonal = startCol;
-            while (startRowDiagonal < SIZE - 1 && startColDiagonal < SIZE - 1) {
-                startRowDiagonal++;
-                startColDiagonal++;
-            }
-            endRowDiagonal = startRow;
-            endColDiagonal = startCol;
-            while (endRowDiagonal > 0 && endColDiagonal > 0) {
-                endRowDiagonal--;
-                endColDiagonal--;
-            }
-        }
-
-        // Debug statements for starting and ending positions using game-style notation
-        String startPosition = columnNotation[startColDiagonal] + (SIZE - startRowDiagonal);
-        String endPosition = columnNotation[endColDiagonal] + (SIZE - endRowDiagonal);
-        System.out.println("Debug: Starting position of the diagonal: " + startPosition);
-        System.out.println("Debug: Ending position of the diagonal: " + endPosition);
-
-        // Count pieces along the diagonal from start to end
-        int totalDiagonalCount = 0;
-        int currentRow = startRowDiagonal;
-        int currentCol = startColDiagonal;
-
-        while ((dRow > 0 && currentRow <= endRowDiagonal) || (dRow < 0 && currentRow >= endRowDiagonal) ||
-                (dCol > 0 && currentCol <= endColDiagonal) || (dCol < 0 && currentCol >= endColDiagonal)) {
-            if (board.getPieceAt(currentRow, currentCol) != '.') {
-                totalDiagonalCount++;
-            }
-            currentRow += dRow;
-            currentCol += dCol;
-        }
-
-        return totalDiagonalCount;
+        // The board keeps a running count for every diagonal, so no scan is needed
+        return board.getLineCount(startRow, startCol, dRow, dCol);
     }
 
 
@@ -468,19 +357,19 @@ public class Rules {
 
         // Identify diagonal direction based on the row and column differences
         if (rowDiff < 0 && colDiff > 0) {
-            System.out.println("Moving Northeast");
+            LOG.trace("Moving Northeast");
             return 'N'; // Northeast
         } else if (rowDiff < 0 && colDiff < 0) {
-            System.out.println("Moving Northwest");
+            LOG.trace("Moving Northwest");
             return 'W'; // Northwest
         } else if (rowDiff > 0 && colDiff > 0) {
-            System.out.println("Moving Southeast");
+            LOG.trace("Moving Southeast");
             return 'E'; // Southeast
         } else if (rowDiff > 0 && colDiff < 0) {
-            System.out.println("Moving Southwest");
+            LOG.trace("Moving Southwest");
             return 'S'; // Southwest
         } else {
-            System.out.println("Not a diagonal move");
+            LOG.trace("Not a diagonal move");
             return '0'; // Not a diagonal move
         }
     }
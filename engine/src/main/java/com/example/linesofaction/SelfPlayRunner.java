@@ -0,0 +1,407 @@
+package com.example.linesofaction;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.example.linesofaction.util.Logger;
+
+/**
+ * Plays games between two computer player configurations without any console input or output,
+ * on a pool of threads, and streams one CSV line per finished game to a writer, optionally storing the
+ * moves of every game with a {@link GameRecordWriter}.
+ * The configurations swap colors every game; black moves first from the standard setup.
+ */
+public class SelfPlayRunner {
+    public static final String HEADER = "game,black,white,winner,moves,score_difference";
+    // Games still undecided after this many plies are recorded as draws
+    public static final int DEFAULT_MAX_PLIES = 400;
+
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final String DEFAULT_PLAYER = "search:3";
+    private static final String USAGE = "Usage: SelfPlayRunner GAMES THREADS RESULTS_CSV [RECORD_FILE]"
+            + " [--first PLAYER] [--second PLAYER] [--max-plies N]\n"
+            + "  PLAYER is random, search:DEPTH or search:DEPTH:MILLIS (default " + DEFAULT_PLAYER + ")";
+
+    private final Supplier<ComputerPlayer> firstPlayers;
+    private final Supplier<ComputerPlayer> secondPlayers;
+    private final int threads;
+    private final int maxPlies;
+    private final AtomicInteger firstWins = new AtomicInteger();
+    private final AtomicInteger secondWins = new AtomicInteger();
+    private final AtomicInteger draws = new AtomicInteger();
+
+    /**
+     * @param firstPlayers Supplier of the first configuration; called once per worker thread, so players are not shared.
+     * @param secondPlayers Supplier of the second configuration, likewise.
+     * @param threads int number of games played at the same time.
+     */
+    public SelfPlayRunner(Supplier<ComputerPlayer> firstPlayers, Supplier<ComputerPlayer> secondPlayers, int threads) {
+        this(firstPlayers, secondPlayers, threads, DEFAULT_MAX_PLIES);
+    }
+
+    /**
+     * @param firstPlayers Supplier of the first configuration; called once per worker thread, so players are not shared.
+     * @param secondPlayers Supplier of the second configuration, likewise.
+     * @param threads int number of games played at the same time.
+     * @param maxPlies int plies after which an undecided game is a draw.
+     */
+    public SelfPlayRunner(Supplier<ComputerPlayer> firstPlayers, Supplier<ComputerPlayer> secondPlayers, int threads, int maxPlies) {
+        this.firstPlayers = firstPlayers;
+        this.secondPlayers = secondPlayers;
+        this.threads = Math.max(1, threads);
+        this.maxPlies = maxPlies;
+    }
+
+    /**
+     * The outcome of one game.
+     */
+    public static final class GameResult {
+        private final int game;
+        private final String black;
+        private final String white;
+        private final char winner;
+        private final int moves;
+        private final int scoreDifference;
+        private final GameRecord record;
+
+        GameResult(int game, String black, String white, char winner, int moves, int scoreDifference, GameRecord record) {
+            this.game = game;
+            this.black = black;
+            this.white = white;
+            this.winner = winner;
+            this.moves = moves;
+            this.scoreDifference = scoreDifference;
+            this.record = record;
+        }
+
+        /**
+         * @return char 'B' or 'W' for the winning color, or 'D' for a draw.
+         */
+        public char getWinner() {
+            return winner;
+        }
+
+        /**
+         * @return int plies played.
+         */
+        public int getMoves() {
+            return moves;
+        }
+
+        /**
+         * @return int winner's pieces minus loser's, as Round.updateScores awards them; 0 for a draw.
+         */
+        public int getScoreDifference() {
+            return scoreDifference;
+        }
+
+        /**
+         * @return GameRecord the players, moves and result of the game.
+         */
+        public GameRecord getRecord() {
+            return record;
+        }
+
+        /**
+         * @return String the result as a line matching {@link #HEADER}.
+         */
+        public String toCsv() {
+            return game + "," + black + "," + white + "," + winner + "," + moves + "," + scoreDifference;
+        }
+    }
+
+    /**
+     * Plays the games and writes the results to a CSV file, replacing it.
+     * @param games int number of games to play.
+     * @param file File to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public void run(int games, File file) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            run(games, writer);
+        }
+    }
+
+    /**
+     * Plays the games, writes the results to a CSV file, replacing it, and appends the game records to a record file.
+     * @param games int number of games to play.
+     * @param file File to write the CSV to.
+     * @param recordFile File to append the game records to; created if missing.
+     * @throws IOException if either file cannot be written.
+     */
+    public void run(int games, File file, File recordFile) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+             GameRecordWriter records = GameRecordWriter.append(recordFile)) {
+            run(games, writer, records);
+        }
+    }
+
+    /**
+     * Plays the games and writes the header and one line per game, in the order games finish.
+     * @param games int number of games to play.
+     * @param output Writer receiving the CSV lines; flushed but not closed.
+     * @throws IOException if writing fails, after the remaining games have been stopped.
+     */
+    public void run(int games, Writer output) throws IOException {
+        run(games, output, null);
+    }
+
+    /**
+     * Plays the games and writes the header and one line per game, in the order games finish,
+     * storing each game's record as its line is written.
+     * @param games int number of games to play.
+     * @param output Writer receiving the CSV lines; flushed but not closed.
+     * @param records GameRecordWriter receiving the game records, or null to skip them; flushed but not closed.
+     * @throws IOException if writing fails, after the remaining games have been stopped.
+     */
+    public void run(int games, Writer output, GameRecordWriter records) throws IOException {
+        BufferedWriter writer = output instanceof BufferedWriter ? (BufferedWriter) output : new BufferedWriter(output);
+        BlockingQueue<GameResult> results = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        AtomicInteger nextGame = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "self-play");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(pool.submit(() -> {
+                ComputerPlayer first = firstPlayers.get();
+                ComputerPlayer second = secondPlayers.get();
+                for (int game = nextGame.getAndIncrement(); game < games && !cancelled.get(); game = nextGame.getAndIncrement()) {
+                    results.put(playGame(game, first, second));
+                }
+                return null;
+            }));
+        }
+        pool.shutdown();
+
+        try {
+            writer.write(HEADER);
+            writer.newLine();
+            for (int written = 0; written < games; written++) {
+                GameResult result = takeResult(results, workers);
+                writer.write(result.toCsv());
+                writer.newLine();
+                if (records != null) {
+                    records.write(result.getRecord());
+                }
+            }
+            writer.flush();
+            if (records != null) {
+                records.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            cancelled.set(true);
+            results.clear();
+            pool.shutdownNow();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for the next finished game, failing if a worker died instead of producing one.
+     */
+    private GameResult takeResult(BlockingQueue<GameResult> results, List<Future<?>> workers) throws IOException {
+        try {
+            while (true) {
+                GameResult result = results.poll(100, TimeUnit.MILLISECONDS);
+                if (result != null) {
+                    return result;
+                }
+                for (Future<?> worker : workers) {
+                    if (worker.isDone()) {
+                        worker.get();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for self-play games", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Self-play worker failed", e.getCause());
+        }
+    }
+
+    /**
+     * Plays one game; the first configuration takes black in even-numbered games.
+     */
+    private GameResult playGame(int game, ComputerPlayer first, ComputerPlayer second) {
+        ComputerPlayer black = game % 2 == 0 ? first : second;
+        ComputerPlayer white = game % 2 == 0 ? second : first;
+        black.setPieceType('B');
+        white.setPieceType('W');
+        Board board = new Board();
+        char winner = 'D';
+        int[] played = new int[maxPlies];
+        int moves = 0;
+        while (moves < maxPlies) {
+            char side = board.getSideToMove();
+            char opponent = side == 'B' ? 'W' : 'B';
+            ComputerPlayer mover = side == 'B' ? black : white;
+            // Through the player, so any opening book or position database it has is used too
+            int move = mover.chooseMove(board);
+            if (move == Move.NONE) {
+                winner = opponent; // A player who cannot move loses
+                break;
+            }
+            board.makeMove(move);
+            played[moves++] = move;
+            // The mover wins if connected, even when the move also connected the other side
+            if (board.isConnected(side)) {
+                winner = side;
+                break;
+            }
+            if (board.isConnected(opponent)) {
+                winner = opponent;
+                break;
+            }
+        }
+        int scoreDifference = winner == 'D' ? 0 : Round.scoreDifference(board, winner);
+        if (winner != 'D') {
+            boolean firstWon = (winner == 'B') == (black == first);
+            (firstWon ? firstWins : secondWins).incrementAndGet();
+        } else {
+            draws.incrementAndGet();
+        }
+        GameRecord record = new GameRecord(black.getName(), white.getName(), GameRecord.STANDARD_SETUP, winner, played, moves);
+        return new GameResult(game, black.getName(), white.getName(), winner, moves, scoreDifference, record);
+    }
+
+    /**
+     * Runs self-play unattended from the command line, e.g. for a nightly job, and prints the totals at the end:
+     * <pre>
+     *   SelfPlayRunner GAMES THREADS RESULTS_CSV [RECORD_FILE] [--first PLAYER] [--second PLAYER] [--max-plies N]
+     * </pre>
+     * The results file is replaced and the record file appended to. PLAYER is "random" or
+     * "search:DEPTH[:MILLIS]" for an {@link AlphaBetaSearch}, and names the configuration in both files.
+     * @param args String[] command line arguments as above.
+     * @throws IOException if an output file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> files = new ArrayList<>();
+        String first = DEFAULT_PLAYER;
+        String second = DEFAULT_PLAYER;
+        int maxPlies = DEFAULT_MAX_PLIES;
+        int games;
+        int threads;
+        Supplier<ComputerPlayer> firstPlayers;
+        Supplier<ComputerPlayer> secondPlayers;
+        try {
+            List<String> positional = new ArrayList<>();
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (!option.startsWith("--")) {
+                    positional.add(option);
+                    continue;
+                }
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--first":
+                        first = value;
+                        break;
+                    case "--second":
+                        second = value;
+                        break;
+                    case "--max-plies":
+                        maxPlies = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+            if (positional.size() < 3 || positional.size() > 4) {
+                throw new IllegalArgumentException("Expected 3 or 4 arguments before the options");
+            }
+            games = Integer.parseInt(positional.get(0));
+            threads = Integer.parseInt(positional.get(1));
+            if (games < 0 || threads < 1 || maxPlies < 1) {
+                throw new IllegalArgumentException("Games, threads and max plies must be positive");
+            }
+            files.addAll(positional.subList(2, positional.size()));
+            firstPlayers = players(first);
+            secondPlayers = players(second);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        SelfPlayRunner runner = new SelfPlayRunner(firstPlayers, secondPlayers, threads, maxPlies);
+        long start = System.nanoTime();
+        if (files.size() == 2) {
+            runner.run(games, new File(files.get(0)), new File(files.get(1)));
+        } else {
+            runner.run(games, new File(files.get(0)));
+        }
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+        Logger.flushBeforeConsole();
+        System.out.println(games + " games in " + seconds + " s: first (" + first + ") won " + runner.getFirstWins()
+                + ", second (" + second + ") won " + runner.getSecondWins() + ", " + runner.getDraws() + " drawn");
+    }
+
+    /**
+     * Parses a command line player configuration.
+     * @param spec String "random", "search:DEPTH" or "search:DEPTH:MILLIS".
+     * @return Supplier of new players with that configuration, named after it.
+     * @throws IllegalArgumentException if the configuration cannot be parsed.
+     */
+    static Supplier<ComputerPlayer> players(String spec) {
+        String[] parts = spec.split(":");
+        if (parts.length == 1 && parts[0].equals("random")) {
+            return () -> new ComputerPlayer(spec, new RandomMoveStrategy());
+        }
+        if (parts.length >= 2 && parts.length <= 3 && parts[0].equals("search")) {
+            int depth = Integer.parseInt(parts[1]);
+            long millis = parts.length == 3 ? Long.parseLong(parts[2]) : AlphaBetaSearch.NO_TIME_LIMIT;
+            if (depth < 1 || millis < 0) {
+                throw new IllegalArgumentException("Search depth must be positive and time not negative: " + spec);
+            }
+            return () -> new ComputerPlayer(spec, new AlphaBetaSearch(depth, millis));
+        }
+        throw new IllegalArgumentException("Unknown player configuration: " + spec);
+    }
+
+    /**
+     * @return int games won by the first configuration so far.
+     */
+    public int getFirstWins() {
+        return firstWins.get();
+    }
+
+    /**
+     * @return int games won by the second configuration so far.
+     */
+    public int getSecondWins() {
+        return secondWins.get();
+    }
+
+    /**
+     * @return int games drawn by the ply limit so far.
+     */
+    public int getDraws() {
+        return draws.get();
+    }
+}
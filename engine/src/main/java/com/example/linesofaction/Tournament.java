@@ -3,6 +3,7 @@ package com.example.linesofaction;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import com.example.linesofaction.util.Logger;
 
 public class Tournament {
     private Player player1;
@@ -82,6 +83,7 @@ public class Tournament {
             startingPlayer = previousRoundWinner;
         }
 
+        Logger.flushBeforeConsole();
         System.out.println("Starting round " + currentRoundNumber + " with " + startingPlayer.getName() + " as the starting player.");
         Round newRound = new Round(player1, player2,null,null,null,null,null,null);
         newRound.startGame(startingPlayer, null); // Start game with the determined starting player
@@ -104,6 +106,7 @@ public class Tournament {
      * @param roundWinner The player who won the round.
      */
     private void updateScores(Player roundWinner) {
+        Logger.flushBeforeConsole();
         if (roundWinner == player1) {
             scores.set(0, scores.get(0) + 1);
             System.out.println(player1.getName() + " wins the round with " + scores.get(0) + " points!");
@@ -127,6 +130,7 @@ public class Tournament {
      * Declares the overall winner of the tournament based on rounds won.
      */
     private void declareWinner() {
+        Logger.flushBeforeConsole();
         System.out.println("Tournament over!");
         if (player1.getRoundsWon() > player2.getRoundsWon()) {
             System.out.println(player1.getName() + " wins the tournament with " + player1.getRoundsWon() + " rounds won!");
@@ -142,6 +146,7 @@ public class Tournament {
      */
     public boolean askToContinue() {
         Scanner scanner = new Scanner(System.in);
+        Logger.flushBeforeConsole();
         System.out.println("Would you like to play another round? (Y/N): ");
         String response = scanner.nextLine();
         return response.equalsIgnoreCase("Y");
@@ -0,0 +1,98 @@
+package com.example.linesofaction;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size hash table of search results keyed by {@link Board#getHash()}, safe to share between
+ * search threads without locks.
+ * Each entry is two longs: the key XOR the data, then the data. A torn or overwritten entry no longer
+ * XORs back to the probed key, so it reads as a miss instead of returning another position's result.
+ */
+public final class TranspositionTable {
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_UPPER = 3;
+
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final long MAX_ENTRIES = 1L << 29;
+    private static final int MOVE_SHIFT = 32;
+    private static final int DEPTH_SHIFT = 45;
+    private static final int BOUND_SHIFT = 53;
+
+    private final long[] entries;
+    private final long indexMask;
+
+    /**
+     * @param megabytes int memory to use; rounded down to a power-of-two number of entries, at most 8 GB.
+     */
+    public TranspositionTable(int megabytes) {
+        long requested = Math.max(1L, (long) megabytes * 1024 * 1024 / BYTES_PER_ENTRY);
+        // Each entry takes two slots of one long[], whose length must stay below 2^31
+        int capacity = (int) Math.min(Long.highestOneBit(requested), MAX_ENTRIES);
+        entries = new long[capacity * 2];
+        indexMask = capacity - 1;
+    }
+
+    /**
+     * Looks up a position.
+     * @param key long position hash.
+     * @return long packed entry data, or 0 if the position is not stored.
+     */
+    public long probe(long key) {
+        int index = (int) (key & indexMask) << 1;
+        long data = entries[index + 1];
+        return (entries[index] ^ data) == key ? data : 0L;
+    }
+
+    /**
+     * Stores a search result, replacing the slot unless it holds a deeper result for the same position.
+     * @param key long position hash.
+     * @param move int packed best move, or {@link Move#NONE}.
+     * @param depth int remaining depth the score was searched to (0-255).
+     * @param bound int {@link #BOUND_EXACT}, {@link #BOUND_LOWER} or {@link #BOUND_UPPER}.
+     * @param score int score from the side to move's point of view.
+     */
+    public void store(long key, int move, int depth, int bound, int score) {
+        int index = (int) (key & indexMask) << 1;
+        long existing = entries[index + 1];
+        if ((entries[index] ^ existing) == key && depth(existing) > depth) {
+            return;
+        }
+        long data = (score & 0xFFFFFFFFL)
+                | ((long) (move & 0x1FFF) << MOVE_SHIFT)
+                | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT);
+        entries[index] = key ^ data;
+        entries[index + 1] = data;
+    }
+
+    /**
+     * Empties the table.
+     */
+    public void clear() {
+        Arrays.fill(entries, 0L);
+    }
+
+    /**
+     * @return int number of entries the table can hold.
+     */
+    public int capacity() {
+        return entries.length / 2;
+    }
+
+    public static int score(long data) {
+        return (int) data;
+    }
+
+    public static int move(long data) {
+        return (int) (data >>> MOVE_SHIFT) & 0x1FFF;
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+}
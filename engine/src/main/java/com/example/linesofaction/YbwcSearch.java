@@ -0,0 +1,321 @@
+package com.example.linesofaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parallel alpha-beta search using the young brothers wait concept on a {@link ForkJoinPool}.
+ * At every node with enough depth left the first (eldest) child is searched serially; only if it
+ * does not cause a cutoff are the remaining children forked as {@link RecursiveTask}s. When one of
+ * them fails high, the node is marked cut off and its unfinished siblings, and everything below
+ * them, abandon their work, including serial subtrees already under way. Nodes below the split depth
+ * are searched serially by a per-thread {@link AlphaBetaSearch}; all of them share one transposition
+ * table, which split nodes also store to so each iteration starts from the previous one's best moves.
+ */
+public class YbwcSearch implements MoveStrategy {
+    private static final int INFINITY = AlphaBetaSearch.WIN_SCORE + 1;
+
+    private final ForkJoinPool pool;
+    private final int maxDepth;
+    private final long timeBudgetNanos;
+    private final int splitDepth;
+    private final TranspositionTable table;
+    private final ConcurrentLinkedQueue<AlphaBetaSearch> serialSearches = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<AlphaBetaSearch> serialSearch;
+    private final AtomicLong splitNodes = new AtomicLong();
+
+    private volatile long deadline;
+    private volatile boolean timeUp;
+    private volatile int rootBestMove;
+    // Best move of the previous iteration, searched first at the root as the eldest brother
+    private volatile int previousRootBest;
+    private long lastNodes;
+    private int completedDepth;
+    private int bestScore;
+
+    /**
+     * @param threads int parallelism of the fork/join pool.
+     * @param maxDepth int deepest iteration to search, in plies.
+     * @param timeBudgetMillis long time allowed per move, or {@link AlphaBetaSearch#NO_TIME_LIMIT}.
+     * @param splitDepth int minimum remaining depth at which a node's younger children are forked.
+     * @param tableMegabytes int size of the shared transposition table.
+     */
+    public YbwcSearch(int threads, int maxDepth, long timeBudgetMillis, int splitDepth, int tableMegabytes) {
+        this.pool = new ForkJoinPool(Math.max(1, threads));
+        this.maxDepth = Math.max(1, Math.min(maxDepth, AlphaBetaSearch.MAX_PLY - 1));
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.splitDepth = Math.max(1, splitDepth);
+        this.table = new TranspositionTable(tableMegabytes);
+        this.serialSearch = ThreadLocal.withInitial(() -> {
+            AlphaBetaSearch search = new AlphaBetaSearch(this.maxDepth, timeBudgetMillis, table);
+            search.beginSubtreeSearch(deadline);
+            serialSearches.add(search);
+            return search;
+        });
+    }
+
+    @Override
+    public int selectMove(Board board, char pieceType) {
+        Board position = new Board(board);
+        position.setSideToMove(pieceType);
+        MoveList rootMoves = new MoveList();
+        MoveGenerator.generateMoves(position, pieceType, rootMoves);
+        if (rootMoves.isEmpty()) {
+            return Move.NONE;
+        }
+
+        deadline = System.nanoTime() + timeBudgetNanos;
+        timeUp = false;
+        splitNodes.set(0);
+        for (AlphaBetaSearch search : serialSearches) {
+            search.beginSubtreeSearch(deadline);
+        }
+        completedDepth = 0;
+        bestScore = 0;
+        int bestMove = rootMoves.get(0);
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            previousRootBest = depth == 1 ? Move.NONE : bestMove;
+            rootBestMove = Move.NONE;
+            int score = pool.invoke(new NodeTask(position, depth, -INFINITY, INFINITY, 0, null, Move.NONE));
+            if (timeUp || rootBestMove == Move.NONE) {
+                break;
+            }
+            bestMove = rootBestMove;
+            bestScore = score;
+            completedDepth = depth;
+            if (Math.abs(score) >= AlphaBetaSearch.WIN_SCORE - AlphaBetaSearch.MAX_PLY) {
+                break;
+            }
+        }
+        lastNodes = splitNodes.get();
+        for (AlphaBetaSearch search : serialSearches) {
+            lastNodes += search.getNodes();
+        }
+        return bestMove;
+    }
+
+    /**
+     * Searches one node; forked for the younger children of a split node.
+     */
+    private final class NodeTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final int depth;
+        private final int alpha;
+        private final int beta;
+        private final int ply;
+        private final SplitPoint parent;
+        // The split node's move that leads here
+        private final int move;
+
+        NodeTask(Board board, int depth, int alpha, int beta, int ply, SplitPoint parent, int move) {
+            this.board = board;
+            this.depth = depth;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.ply = ply;
+            this.parent = parent;
+            this.move = move;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (parent == null) {
+                return search(board, depth, alpha, beta, ply, null); // The root
+            }
+            // Siblings that finished first may have raised the split node's alpha, narrowing this window
+            int windowBeta = Math.min(beta, -parent.alpha.get());
+            if (alpha >= windowBeta) {
+                return windowBeta; // Cannot improve on the split node's best, as a fail high here
+            }
+            int score = search(board, depth, alpha, windowBeta, ply, parent);
+            // Not a fail high, so the negated score is a real lower bound for the split node, unless
+            // the search was cut short; abandonment is never undone, so checking afterwards is enough
+            if (score < windowBeta && !timeUp && !parent.isAbandoned()) {
+                parent.raiseAlpha(-score, move);
+            }
+            return score;
+        }
+    }
+
+    /**
+     * A node whose younger children are being searched in parallel, linked to the split node above it.
+     */
+    private static final class SplitPoint {
+        private final SplitPoint parent;
+        private final int beta;
+        // Best score proven so far at the split node, shared so younger brothers can search narrower windows
+        private final AtomicInteger alpha;
+        // Move that proved alpha, or Move.NONE while alpha is still the bound the split started with
+        private int bestMove = Move.NONE;
+        private volatile boolean cutOff;
+
+        SplitPoint(SplitPoint parent, int alpha, int beta) {
+            this.parent = parent;
+            this.alpha = new AtomicInteger(alpha);
+            this.beta = beta;
+        }
+
+        synchronized void raiseAlpha(int score, int move) {
+            if (score > alpha.get()) {
+                alpha.set(score);
+                bestMove = move;
+            }
+            if (score >= beta) {
+                cutOff = true; // Siblings still running see this and return early
+            }
+        }
+
+        boolean isAbandoned() {
+            for (SplitPoint point = this; point != null; point = point.parent) {
+                if (point.cutOff) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private int search(Board board, int depth, int alpha, int beta, int ply, SplitPoint parent) {
+        // The root always takes the parallel path so it can report its best move
+        if (depth < splitDepth && ply > 0) {
+            AlphaBetaSearch serial = serialSearch.get();
+            int score = serial.searchSubtree(board, depth, alpha, beta, ply, parent == null ? null : parent::isAbandoned);
+            // A subtree stopped only because a cutoff abandoned it does not mean the time is up
+            if (serial.isStopped() && (parent == null || !parent.isAbandoned())) {
+                timeUp = true;
+            }
+            return score;
+        }
+        splitNodes.incrementAndGet();
+        if (timeUp || (parent != null && parent.isAbandoned())) {
+            return 0;
+        }
+        if (timeBudgetNanos != AlphaBetaSearch.NO_TIME_LIMIT && System.nanoTime() - deadline > 0) {
+            timeUp = true;
+            return 0;
+        }
+        char side = board.getSideToMove();
+        char opponent = side == 'B' ? 'W' : 'B';
+        if (board.isConnected(opponent)) {
+            return -(AlphaBetaSearch.WIN_SCORE - ply);
+        }
+        if (board.isConnected(side)) {
+            return AlphaBetaSearch.WIN_SCORE - ply;
+        }
+        if (depth == 0) {
+            return Evaluator.evaluate(board, side);
+        }
+
+        MoveList moves = new MoveList();
+        MoveGenerator.generateMoves(board, side, moves);
+        if (moves.isEmpty()) {
+            return -(AlphaBetaSearch.WIN_SCORE - ply);
+        }
+        long key = board.getHash();
+        long entry = table.probe(key);
+        if (entry != 0) {
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = AlphaBetaSearch.scoreFromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.BOUND_EXACT
+                        || (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+                        || (bound == TranspositionTable.BOUND_UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+            AlphaBetaSearch.moveToFront(moves, TranspositionTable.move(entry));
+        }
+        if (ply == 0 && previousRootBest != Move.NONE) {
+            AlphaBetaSearch.moveToFront(moves, previousRootBest);
+        }
+        int originalAlpha = alpha;
+
+        // Eldest brother first, serially, to establish a bound before going parallel
+        int bestMove = moves.get(0);
+        board.makeMove(bestMove);
+        int best = -search(board, depth - 1, -beta, -alpha, ply + 1, parent);
+        board.unmakeMove();
+        if (best > alpha) {
+            alpha = best;
+        }
+        SplitPoint split = null;
+        if (alpha < beta && moves.size() > 1) {
+            split = new SplitPoint(parent, alpha, beta);
+            List<NodeTask> younger = new ArrayList<>(moves.size() - 1);
+            for (int i = 1; i < moves.size(); i++) {
+                Board child = new Board(board);
+                child.makeMove(moves.get(i));
+                NodeTask task = new NodeTask(child, depth - 1, -beta, -alpha, ply + 1, split, moves.get(i));
+                younger.add(task);
+                task.fork();
+            }
+            for (int i = 0; i < younger.size(); i++) {
+                NodeTask task = younger.get(i);
+                if (split.cutOff) {
+                    task.cancel(false);
+                    continue;
+                }
+                int score = -task.join();
+                // After a fail high the brothers still running are abandoned and return meaningless scores
+                if (!split.cutOff && score > best) {
+                    best = score;
+                    bestMove = moves.get(i + 1);
+                }
+            }
+            // Brothers that beat the eldest published their scores and moves to the split point,
+            // including one whose fail high ended the loop before it was joined
+            synchronized (split) {
+                if (split.alpha.get() > alpha) {
+                    best = split.alpha.get();
+                    bestMove = split.bestMove;
+                }
+            }
+        }
+        // Results cut short by the clock or an abandoned parent are not real scores
+        if (!timeUp && (parent == null || !parent.isAbandoned())) {
+            // A cut-off split node only knows the score of the brother that failed high, a lower bound
+            int bound = best >= beta || (split != null && split.cutOff) ? TranspositionTable.BOUND_LOWER
+                    : best <= originalAlpha ? TranspositionTable.BOUND_UPPER : TranspositionTable.BOUND_EXACT;
+            table.store(key, bestMove, depth, bound, AlphaBetaSearch.scoreToTable(best, ply));
+            if (ply == 0) {
+                rootBestMove = bestMove;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Stops the worker pool; the search cannot be used afterwards.
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * @return long nodes searched during the last move, split nodes and serial subtrees together.
+     */
+    public long getNodes() {
+        return lastNodes;
+    }
+
+    /**
+     * @return int depth of the last fully searched iteration.
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * @return int score of the chosen move from the mover's point of view.
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+}
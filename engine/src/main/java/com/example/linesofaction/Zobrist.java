@@ -0,0 +1,61 @@
+package com.example.linesofaction;
+
+/**
+ * Random keys for Zobrist hashing: a position's hash is the XOR of the key of every piece on its
+ * square, plus {@link #WHITE_TO_MOVE} when white is to move.
+ * The keys come from a fixed seed so hashes stay stable across runs and can be stored on disk.
+ */
+public final class Zobrist {
+    public static final long WHITE_TO_MOVE;
+
+    // Black keys at [square], white keys at [64 + square]
+    private static final long[] PIECE_KEYS = new long[2 * Bitboards.SIZE * Bitboards.SIZE];
+
+    static {
+        long seed = 0x4C696E65734F6641L;
+        for (int i = 0; i < PIECE_KEYS.length; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            PIECE_KEYS[i] = mix(seed);
+        }
+        seed += 0x9E3779B97F4A7C15L;
+        WHITE_TO_MOVE = mix(seed);
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a piece on a square.
+     * @param square int square index (0-63).
+     * @param black boolean true for a black piece, false for white.
+     * @return long key to XOR into the hash.
+     */
+    public static long pieceKey(int square, boolean black) {
+        return PIECE_KEYS[black ? square : Bitboards.SIZE * Bitboards.SIZE + square];
+    }
+
+    /**
+     * Computes a full hash from scratch.
+     * @param blackPieces long bitboard of black pieces.
+     * @param whitePieces long bitboard of white pieces.
+     * @param whiteToMove boolean true if white is to move.
+     * @return long hash of the position.
+     */
+    public static long hash(long blackPieces, long whitePieces, boolean whiteToMove) {
+        long hash = whiteToMove ? WHITE_TO_MOVE : 0L;
+        for (long bits = blackPieces; bits != 0; bits &= bits - 1) {
+            hash ^= pieceKey(Long.numberOfTrailingZeros(bits), true);
+        }
+        for (long bits = whitePieces; bits != 0; bits &= bits - 1) {
+            hash ^= pieceKey(Long.numberOfTrailingZeros(bits), false);
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer; also spreads keys over hash table slots
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.linesofaction.util;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Appender that hands messages to a background thread through a fixed-size ring buffer, so logging
+ * threads never wait for console or file output. Any number of threads may append. When the buffer
+ * is full, TRACE and DEBUG messages are dropped and counted rather than blocking the caller, while
+ * INFO and above wait for room, since those are the messages people read.
+ * Output to the same stream written directly is only ordered after a {@link #flush()}.
+ * {@link #close()} stops the writer thread.
+ */
+public final class AsyncRingBufferAppender implements LogAppender {
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+
+    private final PrintStream out;
+    private final int mask;
+    // sequences[slot] == position: free for the producer claiming position;
+    // position + 1: filled and ready for the consumer; the producer a lap later waits for position + capacity
+    private final AtomicLongArray sequences;
+    private final LogLevel[] levels;
+    private final String[] loggerNames;
+    private final String[] messages;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile long head;
+    private volatile boolean writerIdle;
+    private volatile boolean closed;
+
+    /**
+     * @param out PrintStream the background thread writes to.
+     * @param capacity int number of messages the buffer holds, rounded up to a power of two.
+     */
+    public AsyncRingBufferAppender(PrintStream out, int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.out = out;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.levels = new LogLevel[size];
+        this.loggerNames = new String[size];
+        this.messages = new String[size];
+        this.writer = new Thread(this::drain, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void append(LogLevel level, String loggerName, String message) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) (position & mask);
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    levels[slot] = level;
+                    loggerNames[slot] = loggerName;
+                    messages[slot] = message;
+                    // Publishing the sequence makes the fields above visible to the writer
+                    sequences.set(slot, position + 1);
+                    if (writerIdle) {
+                        LockSupport.unpark(writer);
+                    }
+                    return;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // After close nothing frees a slot, so even INFO and above must not wait
+                if (closed || level.compareTo(LogLevel.INFO) < 0) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+                position = tail.get();
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private void drain() {
+        long position = 0;
+        while (true) {
+            int slot = (int) (position & mask);
+            if (sequences.get(slot) == position + 1) {
+                out.println(levels[slot] + " " + loggerNames[slot] + ": " + messages[slot]);
+                levels[slot] = null;
+                loggerNames[slot] = null;
+                messages[slot] = null;
+                sequences.set(slot, position + mask + 1);
+                position++;
+                head = position;
+            } else if (closed) {
+                out.flush();
+                return;
+            } else {
+                out.flush();
+                writerIdle = true;
+                // Re-check after announcing idleness so a message published just before is not left waiting
+                if (sequences.get(slot) != position + 1) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                writerIdle = false;
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        long target = tail.get();
+        while (head < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        flush();
+        closed = true;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return long number of messages dropped: TRACE and DEBUG ones that found the buffer full, and any
+     *         that found it full after {@link #close()}.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.linesofaction.util;
+
+/**
+ * Destination for the messages of every {@link Logger}.
+ */
+public interface LogAppender {
+    /**
+     * Records one message; may be called from any thread and should return quickly.
+     * @param level LogLevel of the message.
+     * @param loggerName String name of the logger it came from.
+     * @param message String text of the message.
+     */
+    void append(LogLevel level, String loggerName, String message);
+
+    /**
+     * Blocks until every message appended so far has been written out.
+     */
+    void flush();
+
+    /**
+     * Writes out every message appended so far and releases the appender's resources, e.g. its
+     * writer thread. Messages appended afterwards are discarded.
+     */
+    void close();
+}
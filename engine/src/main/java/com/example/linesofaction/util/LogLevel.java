@@ -0,0 +1,14 @@
+package com.example.linesofaction.util;
+
+/**
+ * Severity of a log message, from most to least verbose; a logger set to a level drops everything below it.
+ */
+public enum LogLevel {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    // Only used as a threshold: nothing is logged
+    OFF
+}
@@ -0,0 +1,154 @@
+package com.example.linesofaction.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Named, level-gated logger. Messages below a logger's level are dropped before any text is built
+ * when callers guard with {@link #isEnabled(LogLevel)}, so disabled logging on hot paths costs one
+ * volatile read. Enabled messages go to the shared {@link LogAppender}, by default an
+ * {@link AsyncRingBufferAppender} writing to standard output.
+ */
+public final class Logger {
+    private static final ConcurrentMap<String, Logger> LOGGERS = new ConcurrentHashMap<>();
+    private static volatile LogLevel defaultLevel = LogLevel.INFO;
+    private static volatile LogAppender appender;
+
+    private final String name;
+    // null to follow the default level
+    private volatile LogLevel level;
+
+    private Logger(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the logger named after a class, creating it on first use.
+     * @param type Class whose simple name names the logger.
+     * @return Logger shared by every caller with the same name.
+     */
+    public static Logger getLogger(Class<?> type) {
+        return getLogger(type.getSimpleName());
+    }
+
+    /**
+     * Returns the logger with a name, creating it on first use.
+     * @param name String logger name.
+     * @return Logger shared by every caller with the same name.
+     */
+    public static Logger getLogger(String name) {
+        Logger logger = LOGGERS.get(name);
+        if (logger == null) {
+            Logger created = new Logger(name);
+            logger = LOGGERS.putIfAbsent(name, created);
+            if (logger == null) {
+                logger = created;
+            }
+        }
+        return logger;
+    }
+
+    /**
+     * Sets the level of every logger that has no level of its own.
+     * @param level LogLevel threshold.
+     */
+    public static void setDefaultLevel(LogLevel level) {
+        defaultLevel = level;
+    }
+
+    /**
+     * Replaces the destination of all log messages, closing the current one once its queued messages
+     * are written, which also stops an {@link AsyncRingBufferAppender}'s writer thread.
+     * @param newAppender LogAppender to use from now on.
+     */
+    public static synchronized void setAppender(LogAppender newAppender) {
+        LogAppender previous = appender;
+        appender = newAppender;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Waits until every message logged so far has been written.
+     */
+    public static void flush() {
+        LogAppender current = appender;
+        if (current != null) {
+            current.flush();
+        }
+    }
+
+    /**
+     * Call before printing to the console directly, e.g. a prompt or a score line. The default appender
+     * writes from a background thread, so without this, log messages queued before the direct output
+     * could appear after it, or in the middle of a prompt the user is answering.
+     */
+    public static void flushBeforeConsole() {
+        flush();
+    }
+
+    private static LogAppender appender() {
+        LogAppender current = appender;
+        if (current == null) {
+            synchronized (Logger.class) {
+                current = appender;
+                if (current == null) {
+                    current = new AsyncRingBufferAppender(System.out, AsyncRingBufferAppender.DEFAULT_CAPACITY);
+                    appender = current;
+                    // Console runs end with System.exit or the last thread, which would lose queued messages
+                    Runtime.getRuntime().addShutdownHook(new Thread(Logger::flush, "log-flush"));
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Sets this logger's own level, or null to follow the default level.
+     * @param level LogLevel threshold, or null.
+     */
+    public void setLevel(LogLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * @param messageLevel LogLevel of a message about to be logged.
+     * @return boolean true if such a message would be written.
+     */
+    public boolean isEnabled(LogLevel messageLevel) {
+        LogLevel threshold = level != null ? level : defaultLevel;
+        return messageLevel != LogLevel.OFF && messageLevel.compareTo(threshold) >= 0;
+    }
+
+    /**
+     * Logs a message if its level is enabled.
+     * @param messageLevel LogLevel of the message.
+     * @param message String text.
+     */
+    public void log(LogLevel messageLevel, String message) {
+        if (isEnabled(messageLevel)) {
+            appender().append(messageLevel, name, message);
+        }
+    }
+
+    public void trace(String message) {
+        log(LogLevel.TRACE, message);
+    }
+
+    public void debug(String message) {
+        log(LogLevel.DEBUG, message);
+    }
+
+    public void info(String message) {
+        log(LogLevel.INFO, message);
+    }
+
+    public void warn(String message) {
+        log(LogLevel.WARN, message);
+    }
+
+    public void error(String message) {
+        log(LogLevel.ERROR, message);
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.linesofaction;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks that makeMove keeps the incremental hash, group counts and features in step with the pieces,
+ * and that unmakeMove restores every one of them.
+ */
+public class BoardTest {
+    private static final int GAMES = 50;
+    private static final int MAX_PLIES = 120;
+
+    @Test
+    public void makeMoveMatchesRecomputedState() {
+        Random random = new Random(1);
+        MoveList moves = new MoveList();
+        for (int game = 0; game < GAMES; game++) {
+            Board board = startingBoard(game);
+            for (int ply = 0; ply < MAX_PLIES && !isGameOver(board); ply++) {
+                MoveGenerator.generateMoves(board, board.getSideToMove(), moves);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+                assertMatchesPieces(board);
+            }
+        }
+    }
+
+    @Test
+    public void unmakeMoveRestoresEveryMove() {
+        Random random = new Random(2);
+        MoveList moves = new MoveList();
+        for (int game = 0; game < GAMES; game++) {
+            Board board = startingBoard(game);
+            for (int ply = 0; ply < MAX_PLIES && !isGameOver(board); ply++) {
+                MoveGenerator.generateMoves(board, board.getSideToMove(), moves);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                int[] before = snapshot(board);
+                for (int i = 0; i < moves.size(); i++) {
+                    board.makeMove(moves.get(i));
+                    board.unmakeMove();
+                    assertArrayEquals("unmake of " + Move.toNotation(moves.get(i)), before, snapshot(board));
+                }
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+    }
+
+    @Test
+    public void unmakingAWholeGameRestoresTheStart() {
+        Random random = new Random(3);
+        MoveList moves = new MoveList();
+        for (int game = 0; game < GAMES; game++) {
+            Board board = startingBoard(game);
+            int[] start = snapshot(board);
+            int plies = 0;
+            for (; plies < MAX_PLIES && !isGameOver(board); plies++) {
+                MoveGenerator.generateMoves(board, board.getSideToMove(), moves);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+            }
+            for (; plies > 0; plies--) {
+                board.unmakeMove();
+            }
+            assertArrayEquals("game " + game, start, snapshot(board));
+        }
+    }
+
+    @Test
+    public void movePieceMatchesMakeMove() {
+        Random random = new Random(4);
+        MoveList moves = new MoveList();
+        Board played = new Board();
+        Board made = new Board();
+        for (int ply = 0; ply < MAX_PLIES && !isGameOver(made); ply++) {
+            MoveGenerator.generateMoves(made, made.getSideToMove(), moves);
+            if (moves.isEmpty()) {
+                break;
+            }
+            int move = moves.get(random.nextInt(moves.size()));
+            int from = Move.from(move);
+            int to = Move.to(move);
+            played.movePiece(Bitboards.row(from), Bitboards.col(from), Bitboards.row(to), Bitboards.col(to),
+                    played.getSideToMove());
+            made.makeMove(move);
+            assertArrayEquals("ply " + ply, snapshot(made), snapshot(played));
+        }
+    }
+
+    private static Board startingBoard(int game) {
+        Board board = new Board();
+        switch (game % 3) {
+            case 1:
+                board.case1Board();
+                break;
+            case 2:
+                board.case5Board();
+                break;
+            default:
+                break;
+        }
+        board.setSideToMove(game % 2 == 0 ? 'B' : 'W');
+        return board;
+    }
+
+    private static boolean isGameOver(Board board) {
+        return board.isConnected('B') || board.isConnected('W');
+    }
+
+    private static void assertMatchesPieces(Board board) {
+        long black = board.getPieces('B');
+        long white = board.getPieces('W');
+        assertEquals("hash", Zobrist.hash(black, white, board.getSideToMove() == 'W'), board.getHash());
+        assertEquals("occupied", black | white, board.getOccupied());
+        assertEquals("black groups", GroupTracker.countGroups(black), board.getGroupCount('B'));
+        assertEquals("white groups", GroupTracker.countGroups(white), board.getGroupCount('W'));
+
+        for (char color : new char[] {'B', 'W'}) {
+            long pieces = board.getPieces(color);
+            int rowSum = 0;
+            int columnSum = 0;
+            int squareSum = 0;
+            int centralization = 0;
+            for (long bits = pieces; bits != 0; bits &= bits - 1) {
+                int square = Long.numberOfTrailingZeros(bits);
+                int row = Bitboards.row(square);
+                int col = Bitboards.col(square);
+                rowSum += row;
+                columnSum += col;
+                squareSum += row * row + col * col;
+                centralization += Evaluator.centralization(square);
+            }
+            assertEquals(color + " row sum", rowSum, board.getRowSum(color));
+            assertEquals(color + " column sum", columnSum, board.getColumnSum(color));
+            assertEquals(color + " square sum", squareSum, board.getSquareSum(color));
+            assertEquals(color + " centralization", centralization, board.getCentralizationSum(color));
+
+            int[] quads = new int[QuadCounter.TYPES];
+            QuadCounter.countQuads(pieces, quads, 0);
+            for (int type = 0; type < QuadCounter.TYPES; type++) {
+                assertEquals(color + " quads of type " + type, quads[type], board.getQuadCount(color, type));
+            }
+        }
+
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                assertEquals("row count", Long.bitCount((black | white) & Bitboards.rowMask(row)),
+                        board.getLineCount(row, col, 0, 1));
+                assertEquals("column count", Long.bitCount((black | white) & Bitboards.columnMask(col)),
+                        board.getLineCount(row, col, 1, 0));
+                assertEquals("diagonal count", countLine(board, row, col, 1, 1), board.getLineCount(row, col, 1, 1));
+                assertEquals("anti-diagonal count", countLine(board, row, col, 1, -1), board.getLineCount(row, col, 1, -1));
+            }
+        }
+    }
+
+    private static int countLine(Board board, int row, int col, int dRow, int dCol) {
+        int count = board.getPieceAt(row, col) != '.' ? 1 : 0;
+        for (int sign = -1; sign <= 1; sign += 2) {
+            for (int r = row + sign * dRow, c = col + sign * dCol; board.isPositionValid(r, c); r += sign * dRow, c += sign * dCol) {
+                if (board.getPieceAt(r, c) != '.') {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Everything makeMove and unmakeMove touch, as far as the public interface shows it
+    private static int[] snapshot(Board board) {
+        int[] state = new int[9 + 2 * (5 + QuadCounter.TYPES) + 4 * 64];
+        int i = 0;
+        long black = board.getPieces('B');
+        long white = board.getPieces('W');
+        long hash = board.getHash();
+        state[i++] = (int) black;
+        state[i++] = (int) (black >>> 32);
+        state[i++] = (int) white;
+        state[i++] = (int) (white >>> 32);
+        state[i++] = (int) hash;
+        state[i++] = (int) (hash >>> 32);
+        state[i++] = board.getSideToMove();
+        state[i++] = board.getGroupCount('B');
+        state[i++] = board.getGroupCount('W');
+        for (char color : new char[] {'B', 'W'}) {
+            state[i++] = board.getRowSum(color);
+            state[i++] = board.getColumnSum(color);
+            state[i++] = board.getSquareSum(color);
+            state[i++] = board.getCentralizationSum(color);
+            state[i++] = board.getEulerNumber(color);
+            for (int type = 0; type < QuadCounter.TYPES; type++) {
+                state[i++] = board.getQuadCount(color, type);
+            }
+        }
+        for (int square = 0; square < 64; square++) {
+            int row = Bitboards.row(square);
+            int col = Bitboards.col(square);
+            state[i++] = board.getLineCount(row, col, 0, 1);
+            state[i++] = board.getLineCount(row, col, 1, 0);
+            state[i++] = board.getLineCount(row, col, 1, 1);
+            state[i++] = board.getLineCount(row, col, 1, -1);
+        }
+        return state;
+    }
+}
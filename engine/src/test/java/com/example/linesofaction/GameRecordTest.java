@@ -0,0 +1,186 @@
+package com.example.linesofaction;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Round trips game records through {@link GameRecordWriter} and {@link GameRecordReader}.
+ */
+public class GameRecordTest {
+    private static final char[] RESULTS = {'B', 'W', GameRecord.DRAW, GameRecord.UNFINISHED};
+
+    @Test
+    public void recordsRoundTrip() throws IOException {
+        List<GameRecord> written = randomGames(200, new Random(1));
+        GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(write(written)));
+        for (GameRecord expected : written) {
+            assertSameRecord(expected, reader.next());
+        }
+        assertNull(reader.next());
+        reader.close();
+    }
+
+    @Test
+    public void replayReachesTheFinalPosition() throws IOException {
+        Random random = new Random(2);
+        List<GameRecord> written = new ArrayList<>();
+        List<Long> finalHashes = new ArrayList<>();
+        MoveList moves = new MoveList();
+        for (int game = 0; game < 50; game++) {
+            int setup = game % (GameRecord.MAX_SETUP + 1);
+            Board board = GameRecord.createBoard(setup);
+            int[] played = new int[200];
+            int count = 0;
+            while (count < played.length && !board.isConnected('B') && !board.isConnected('W')) {
+                MoveGenerator.generateMoves(board, board.getSideToMove(), moves);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                played[count] = moves.get(random.nextInt(moves.size()));
+                board.makeMove(played[count++]);
+            }
+            written.add(new GameRecord("black", "white", setup, GameRecord.UNFINISHED, played, count));
+            finalHashes.add(board.getHash());
+        }
+
+        GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(write(written)));
+        for (long hash : finalHashes) {
+            assertEquals(hash, reader.next().replay().getHash());
+        }
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void edgeCasesRoundTrip() throws IOException {
+        int[] allSquares = new int[4096];
+        for (int move = 0; move < allSquares.length; move++) {
+            allSquares[move] = move;
+        }
+        char[] longName = new char[GameRecordWriter.MAX_NAME_BYTES];
+        Arrays.fill(longName, 'x');
+        List<GameRecord> written = Arrays.asList(
+                new GameRecord("", "", GameRecord.STANDARD_SETUP, GameRecord.UNFINISHED, new int[0], 0),
+                new GameRecord(null, "white", 1, 'B', new int[] {Move.of(1, 9, true)}, 1),
+                new GameRecord("Jos\u00e9", "\u767d", GameRecord.MAX_SETUP, 'W', allSquares, 3),
+                new GameRecord(new String(longName), "w", 2, GameRecord.DRAW, allSquares, allSquares.length));
+
+        GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(write(written)));
+        for (GameRecord expected : written) {
+            GameRecord actual = reader.next();
+            assertEquals(expected.getBlack() == null ? "" : expected.getBlack(), actual.getBlack());
+            assertEquals(expected.getWhite(), actual.getWhite());
+            assertArrayEquals(expected.getMoves(), actual.getMoves());
+        }
+        assertNull(reader.next());
+        // The capture flag is not stored; replay recovers it from the board
+        assertEquals(Move.of(1, 9, false), written.get(1).getMove(0));
+    }
+
+    @Test
+    public void skipStepsOverRecords() throws IOException {
+        List<GameRecord> written = randomGames(100, new Random(3));
+        GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(write(written)));
+        for (int i = 0; i < written.size(); i++) {
+            if (i % 3 == 0) {
+                assertSameRecord(written.get(i), reader.next());
+            } else {
+                assertTrue(reader.skip());
+            }
+        }
+        assertFalse(reader.skip());
+    }
+
+    @Test
+    public void largeStreamsCrossTheReadBuffer() throws IOException {
+        // Enough long games to refill the reader's buffer many times, with records straddling each refill
+        List<GameRecord> written = randomGames(3000, new Random(4));
+        GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(write(written)));
+        for (GameRecord expected : written) {
+            assertSameRecord(expected, reader.next());
+        }
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void appendKeepsEarlierRecords() throws IOException {
+        File file = File.createTempFile("games", ".loag");
+        try {
+            List<GameRecord> written = randomGames(20, new Random(5));
+            for (int batch = 0; batch < 2; batch++) {
+                try (GameRecordWriter writer = GameRecordWriter.append(file)) {
+                    for (GameRecord record : written.subList(batch * 10, batch * 10 + 10)) {
+                        writer.write(record);
+                    }
+                }
+            }
+            try (GameRecordReader reader = GameRecordReader.open(file)) {
+                for (GameRecord expected : written) {
+                    assertSameRecord(expected, reader.next());
+                }
+                assertNull(reader.next());
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFiles() throws IOException {
+        new GameRecordReader(new ByteArrayInputStream("not a record file".getBytes("UTF-8")));
+    }
+
+    @Test(expected = EOFException.class)
+    public void rejectsTruncatedRecords() throws IOException {
+        byte[] bytes = write(randomGames(1, new Random(6)));
+        GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)));
+        reader.next();
+    }
+
+    private static List<GameRecord> randomGames(int count, Random random) {
+        List<GameRecord> games = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int[] moves = new int[random.nextInt(300)];
+            for (int j = 0; j < moves.length; j++) {
+                moves[j] = Move.of(random.nextInt(64), random.nextInt(64), false);
+            }
+            String black = "player" + (i % 2);
+            String white = "player" + ((i + 1) % 2);
+            games.add(new GameRecord(black, white, random.nextInt(GameRecord.MAX_SETUP + 1),
+                    RESULTS[random.nextInt(RESULTS.length)], moves, moves.length));
+        }
+        return games;
+    }
+
+    private static byte[] write(List<GameRecord> records) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+            for (GameRecord record : records) {
+                writer.write(record);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void assertSameRecord(GameRecord expected, GameRecord actual) {
+        assertEquals(expected.getBlack(), actual.getBlack());
+        assertEquals(expected.getWhite(), actual.getWhite());
+        assertEquals(expected.getSetup(), actual.getSetup());
+        assertEquals(expected.getResult(), actual.getResult());
+        assertArrayEquals(expected.getMoves(), actual.getMoves());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.linesofaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks the bitboard move generator against the square-by-square checks in {@link Rules#isValidMove}.
+ */
+public class MoveGeneratorTest {
+
+    @Test
+    public void agreesWithRulesFromTheStart() {
+        // verifyAgainstRules throws naming the first move the two disagree on
+        assertEquals(1 + 36 + 1244, Perft.verifyAgainstRules(new Board(), 2));
+    }
+
+    @Test
+    public void agreesWithRulesFromTheCasePositions() {
+        for (int setup = 1; setup <= GameRecord.MAX_SETUP; setup++) {
+            Board board = GameRecord.createBoard(setup);
+            assertTrue("setup " + setup, Perft.verifyAgainstRules(board, 1) > 0);
+            board.setSideToMove('W');
+            assertTrue("setup " + setup, Perft.verifyAgainstRules(board, 1) > 0);
+        }
+    }
+
+    @Test
+    public void agreesWithRulesAlongRandomGames() {
+        Random random = new Random(5);
+        MoveList moves = new MoveList();
+        for (int game = 0; game < 30; game++) {
+            Board board = new Board();
+            for (int ply = 0; ply < 100 && !board.isConnected('B') && !board.isConnected('W'); ply++) {
+                Perft.verifyAgainstRules(board, 0);
+                MoveGenerator.generateMoves(board, board.getSideToMove(), moves);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+    }
+
+    @Test
+    public void splitGeneratorsAndCountMatchGenerateMoves() {
+        Random random = new Random(6);
+        MoveList moves = new MoveList();
+        MoveList captures = new MoveList();
+        MoveList quiets = new MoveList();
+        for (int game = 0; game < 30; game++) {
+            Board board = new Board();
+            for (int ply = 0; ply < 100 && !board.isConnected('B') && !board.isConnected('W'); ply++) {
+                char side = board.getSideToMove();
+                MoveGenerator.generateMoves(board, side, moves);
+                MoveGenerator.generateCaptures(board, side, captures);
+                MoveGenerator.generateQuiets(board, side, quiets);
+                assertEquals(moves.size(), MoveGenerator.countMoves(board, side));
+                assertEquals(moves.size(), captures.size() + quiets.size());
+                for (int i = 0; i < captures.size(); i++) {
+                    assertTrue(Move.isCapture(captures.get(i)));
+                    assertEquals(captures.get(i), moves.find(Move.from(captures.get(i)), Move.to(captures.get(i))));
+                }
+                for (int i = 0; i < quiets.size(); i++) {
+                    assertFalse(Move.isCapture(quiets.get(i)));
+                    assertEquals(quiets.get(i), moves.find(Move.from(quiets.get(i)), Move.to(quiets.get(i))));
+                }
+                if (moves.isEmpty()) {
+                    break;
+                }
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+    }
+
+    @Test
+    public void isLegalAcceptsExactlyTheGeneratedMoves() {
+        Random random = new Random(7);
+        MoveList moves = new MoveList();
+        for (int game = 0; game < 30; game++) {
+            Board board = new Board();
+            for (int ply = 0; ply < 100 && !board.isConnected('B') && !board.isConnected('W'); ply++) {
+                char side = board.getSideToMove();
+                MoveGenerator.generateMoves(board, side, moves);
+                for (int from = 0; from < 64; from++) {
+                    for (int to = 0; to < 64; to++) {
+                        int generated = moves.find(from, to);
+                        assertEquals(generated != Move.NONE, MoveGenerator.isLegal(board, side, generated != Move.NONE
+                                ? generated : Move.of(from, to, false)));
+                        // A remembered move with the wrong capture flag is not legal here
+                        if (generated != Move.NONE) {
+                            assertFalse(MoveGenerator.isLegal(board, side, Move.of(from, to, !Move.isCapture(generated))));
+                        }
+                    }
+                }
+                if (moves.isEmpty()) {
+                    break;
+                }
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+    }
+}
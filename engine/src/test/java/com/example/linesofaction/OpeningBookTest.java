@@ -0,0 +1,125 @@
+package com.example.linesofaction;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * Builds opening books from hand-made game records and probes them.
+ */
+public class OpeningBookTest {
+    private static final int MAX_PLY = 2;
+
+    @Test
+    public void bookHoldsTheBestMoveOfEachPosition() throws IOException {
+        Board start = new Board();
+        int good = PositionDatabaseTest.firstMove(start, 'B', 0);
+        int bad = PositionDatabaseTest.firstMove(start, 'B', 1);
+        int[] goodLine = PositionDatabaseTest.line(start, good, 0);
+        int[] drawLine = PositionDatabaseTest.line(start, good, 1);
+        int[] badLine = PositionDatabaseTest.line(start, bad, 0);
+        File records = PositionDatabaseTest.writeRecords(
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, 'B', goodLine, 2),
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, 'B', goodLine, 2),
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, GameRecord.DRAW, drawLine, 2),
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, 'W', badLine, 2));
+        File bookFile = File.createTempFile("book", ".bin");
+        try {
+            // The start and the positions after each first move; the last positions have no recorded moves
+            assertEquals(3, OpeningBook.build(records, bookFile, MAX_PLY, 1));
+            try (OpeningBook book = OpeningBook.open(bookFile)) {
+                assertEquals(3, book.size());
+                assertEquals(good, book.find(start.getHash()));
+                assertEquals(good, book.probe(start, 'B'));
+                // The book move is black's, so white has none here
+                assertEquals(Move.NONE, book.probe(start, 'W'));
+
+                // White lost both games on the first reply and drew on the second
+                assertEquals(drawLine[1], book.probe(afterFirst(start, good), 'W'));
+
+                Board afterBad = afterFirst(start, bad);
+                assertEquals(badLine[1], book.probe(afterBad, 'W'));
+                afterBad.makeMove(badLine[1]);
+                assertEquals(Move.NONE, book.find(afterBad.getHash()));
+                assertEquals(Move.NONE, book.probe(afterBad, 'B'));
+            }
+        } finally {
+            PositionDatabaseTest.delete(records);
+            PositionDatabaseTest.delete(bookFile);
+        }
+    }
+
+    @Test
+    public void buildFromDatabaseKeepsWellVisitedPositions() throws IOException {
+        Board start = new Board();
+        int first = PositionDatabaseTest.firstMove(start, 'B', 0);
+        int second = PositionDatabaseTest.firstMove(start, 'B', 1);
+        int[] line = PositionDatabaseTest.line(start, first, 0);
+        int[] otherReply = PositionDatabaseTest.line(start, first, 1);
+        File records = PositionDatabaseTest.writeRecords(
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, 'B', line, 2),
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, 'B', line, 2),
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, 'W', otherReply, 2),
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, 'W', PositionDatabaseTest.line(start, second, 0), 2));
+        File databaseFile = File.createTempFile("positions", ".db");
+        File bookFile = File.createTempFile("book", ".bin");
+        try (PositionDatabase database = PositionDatabase.build(records, databaseFile, 1024, MAX_PLY, 1)) {
+            // The start was reached in four games and the position after the first move in three
+            assertEquals(2, OpeningBook.build(database, bookFile, 3));
+            try (OpeningBook book = OpeningBook.open(bookFile)) {
+                assertEquals(first, book.probe(start, 'B'));
+                // White won the one game with the other reply and lost both with the first
+                assertEquals(otherReply[1], book.probe(afterFirst(start, first), 'W'));
+            }
+            assertEquals(1, OpeningBook.build(database, bookFile, 4));
+            try (OpeningBook book = OpeningBook.open(bookFile)) {
+                assertEquals(first, book.probe(start, 'B'));
+                assertEquals(Move.NONE, book.probe(afterFirst(start, first), 'W'));
+            }
+        } finally {
+            PositionDatabaseTest.delete(records);
+            PositionDatabaseTest.delete(databaseFile);
+            PositionDatabaseTest.delete(bookFile);
+        }
+    }
+
+    @Test
+    public void whiteStartingSetupsProbeForWhite() throws IOException {
+        Board start = GameRecord.createBoard(2);
+        int good = PositionDatabaseTest.firstMove(start, 'W', 0);
+        int bad = PositionDatabaseTest.firstMove(start, 'W', 1);
+        File records = PositionDatabaseTest.writeRecords(
+                new GameRecord("a", "b", 2, 'W', new int[] {good}, 1),
+                new GameRecord("a", "b", 2, 'B', new int[] {bad}, 1));
+        File bookFile = File.createTempFile("book", ".bin");
+        try {
+            assertEquals(1, OpeningBook.build(records, bookFile, MAX_PLY, 1));
+            try (OpeningBook book = OpeningBook.open(bookFile)) {
+                assertEquals(good, book.probe(start, 'W'));
+                assertEquals(Move.NONE, book.probe(start, 'B'));
+            }
+        } finally {
+            PositionDatabaseTest.delete(records);
+            PositionDatabaseTest.delete(bookFile);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFiles() throws IOException {
+        File notABook = PositionDatabaseTest.writeRecords();
+        try {
+            OpeningBook.open(notABook).close();
+        } finally {
+            PositionDatabaseTest.delete(notABook);
+        }
+    }
+
+    private static Board afterFirst(Board start, int move) {
+        Board board = new Board(start);
+        board.makeMove(move);
+        return board;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.linesofaction;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Perft counts from the standard start position, and agreement between the serial, divided,
+ * parallel and cached counters.
+ */
+public class PerftTest {
+    private static final long[] START_POSITION_COUNTS = {1, 36, 1244, 44952, 1563208};
+
+    @Test
+    public void startPositionCounts() {
+        Board board = new Board();
+        for (int depth = 0; depth < START_POSITION_COUNTS.length; depth++) {
+            assertEquals("depth " + depth, START_POSITION_COUNTS[depth], Perft.perft(board, depth));
+        }
+    }
+
+    @Test
+    public void perftLeavesTheBoardUnchanged() {
+        Board board = new Board();
+        long hash = board.getHash();
+        Perft.perft(board, 3);
+        assertEquals(hash, board.getHash());
+        assertEquals('B', board.getSideToMove());
+    }
+
+    @Test
+    public void divideSumsToPerft() {
+        Board board = new Board();
+        Map<Integer, Long> counts = Perft.divide(board, 3);
+        assertEquals(START_POSITION_COUNTS[1], counts.size());
+        long total = 0;
+        for (long count : counts.values()) {
+            total += count;
+        }
+        assertEquals(START_POSITION_COUNTS[3], total);
+    }
+
+    @Test
+    public void parallelPerftMatchesSerial() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(START_POSITION_COUNTS[4], Perft.parallelPerft(new Board(), 4, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void cachedPerftMatchesSerial() {
+        assertEquals(START_POSITION_COUNTS[4], Perft.cachedPerft(new Board(), 4, 16));
+    }
+
+    @Test
+    public void casePositionsMatchAcrossCounters() {
+        Board board = new Board();
+        board.case3Board();
+        long serial = Perft.perft(board, 3);
+        assertEquals(serial, Perft.cachedPerft(board, 3, 1));
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(serial, Perft.parallelPerft(board, 3, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.linesofaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * Builds position databases from a handful of hand-made game records and checks the statistics and
+ * best moves they hold.
+ */
+public class PositionDatabaseTest {
+    private static final int CAPACITY = 1024;
+    private static final int MAX_PLY = 2;
+
+    @Test
+    public void buildCountsVisitsAndWins() throws IOException {
+        Board start = new Board();
+        int good = firstMove(start, 'B', 0);
+        int bad = firstMove(start, 'B', 1);
+        int[] goodLine = line(start, good, 0);
+        int[] drawLine = line(start, good, 1);
+        int[] badLine = line(start, bad, 0);
+        File records = writeRecords(
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, 'B', goodLine, 2),
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, 'B', goodLine, 2),
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, GameRecord.DRAW, drawLine, 2),
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, 'W', badLine, 2),
+                // Unfinished games say nothing about who was winning
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, GameRecord.UNFINISHED, badLine, 2));
+        File databaseFile = File.createTempFile("positions", ".db");
+        try (PositionDatabase database = PositionDatabase.build(records, databaseFile, CAPACITY, MAX_PLY, 1)) {
+            int slot = database.find(start.getHash());
+            assertTrue(slot >= 0);
+            assertEquals(4, database.getVisits(slot));
+            assertEquals(2, database.getBlackWins(slot));
+            assertEquals(1, database.getWhiteWins(slot));
+            // Black scored 2.5 of 3 after the good move and nothing after the bad one
+            assertEquals(good, database.getBestMove(slot));
+
+            Board afterGood = new Board(start);
+            afterGood.makeMove(good);
+            slot = database.find(afterGood.getHash());
+            assertEquals(3, database.getVisits(slot));
+            assertEquals(2, database.getBlackWins(slot));
+            assertEquals(0, database.getWhiteWins(slot));
+            // White lost both games on the first reply and drew on the second
+            assertEquals(drawLine[1], database.getBestMove(slot));
+
+            Board afterBad = new Board(start);
+            afterBad.makeMove(bad);
+            slot = database.find(afterBad.getHash());
+            assertEquals(1, database.getVisits(slot));
+            assertEquals(1, database.getWhiteWins(slot));
+
+            // Start, both first moves and the three distinct positions after the replies
+            assertEquals(6, database.size());
+            assertTrue(database.find(afterBad.getHash() ^ 1) < 0);
+        } finally {
+            delete(records);
+            delete(databaseFile);
+        }
+    }
+
+    @Test
+    public void minVisitsIgnoresRarelyPlayedMoves() throws IOException {
+        Board start = new Board();
+        int common = firstMove(start, 'B', 0);
+        int rare = firstMove(start, 'B', 1);
+        File records = writeRecords(
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, GameRecord.DRAW, line(start, common, 0), 2),
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, 'W', line(start, common, 0), 2),
+                // Won, but in a single game
+                new GameRecord("a", "b", GameRecord.STANDARD_SETUP, 'B', line(start, rare, 0), 2));
+        File databaseFile = File.createTempFile("positions", ".db");
+        try (PositionDatabase database = PositionDatabase.build(records, databaseFile, CAPACITY, MAX_PLY, 2)) {
+            assertEquals(common, database.getBestMove(database.find(start.getHash())));
+        } finally {
+            delete(records);
+            delete(databaseFile);
+        }
+    }
+
+    @Test
+    public void whiteStartingSetupsScoreForWhite() throws IOException {
+        // The case setups leave black as the side to move, so build goes by the color of the piece moved
+        Board start = GameRecord.createBoard(1);
+        int good = firstMove(start, 'W', 0);
+        int bad = firstMove(start, 'W', 1);
+        File records = writeRecords(
+                new GameRecord("a", "b", 1, 'W', new int[] {good}, 1),
+                new GameRecord("a", "b", 1, 'W', new int[] {good}, 1),
+                new GameRecord("a", "b", 1, 'B', new int[] {bad}, 1));
+        File databaseFile = File.createTempFile("positions", ".db");
+        try (PositionDatabase database = PositionDatabase.build(records, databaseFile, CAPACITY, MAX_PLY, 1)) {
+            int slot = database.find(start.getHash());
+            assertEquals(3, database.getVisits(slot));
+            assertEquals(2, database.getWhiteWins(slot));
+            assertEquals(good, database.getBestMove(slot));
+            assertEquals(good, database.probe(start, 'W', 1));
+            // The move is white's, so it is no answer for black
+            assertEquals(Move.NONE, database.probe(start, 'B', 1));
+            assertEquals(Move.NONE, database.probe(start, 'W', 4));
+        } finally {
+            delete(records);
+            delete(databaseFile);
+        }
+    }
+
+    @Test
+    public void reopenedDatabaseProbesLegalMovesOnly() throws IOException {
+        Board start = new Board();
+        int move = firstMove(start, 'B', 0);
+        File records = writeRecords(new GameRecord("a", "b", GameRecord.STANDARD_SETUP, 'B', line(start, move, 0), 2));
+        File databaseFile = File.createTempFile("positions", ".db");
+        try {
+            PositionDatabase.build(records, databaseFile, CAPACITY, MAX_PLY, 1).close();
+            try (PositionDatabase database = PositionDatabase.open(databaseFile)) {
+                assertEquals(move, database.probe(start, 'B', 1));
+                // Asked for the other color, the stored move is not legal and must not be returned
+                assertEquals(Move.NONE, database.probe(start, 'W', 1));
+            }
+        } finally {
+            delete(records);
+            delete(databaseFile);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void readOnlyDatabaseRejectsRecording() throws IOException {
+        File databaseFile = File.createTempFile("positions", ".db");
+        try {
+            PositionDatabase.create(databaseFile, CAPACITY).close();
+            try (PositionDatabase database = PositionDatabase.open(databaseFile)) {
+                database.record(1L, 'B');
+            }
+        } finally {
+            delete(databaseFile);
+        }
+    }
+
+    static int firstMove(Board board, char color, int index) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generateMoves(board, color, moves);
+        return moves.get(index);
+    }
+
+    // Two plies: the given first move and the indexed reply to it
+    static int[] line(Board start, int first, int reply) {
+        Board board = new Board(start);
+        board.makeMove(first);
+        return new int[] {first, firstMove(board, board.getSideToMove(), reply)};
+    }
+
+    static File writeRecords(GameRecord... records) throws IOException {
+        File file = File.createTempFile("games", ".loag");
+        try (GameRecordWriter writer = GameRecordWriter.append(file)) {
+            for (GameRecord record : records) {
+                writer.write(record);
+            }
+        }
+        return file;
+    }
+
+    static void delete(File file) {
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.linesofaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks that parallel YBWC finds the same score as the serial search at a fixed depth. With several
+ * workers younger brothers finish, fail high and abandon each other in varying orders, so each
+ * position is searched a few times.
+ */
+public class YbwcSearchTest {
+    private static final int DEPTH = 4;
+    private static final int THREADS = 4;
+    private static final int SPLIT_DEPTH = 2;
+    private static final int RUNS = 3;
+
+    @Test
+    public void parallelScoresMatchSerialSearch() {
+        for (Board board : positions()) {
+            char side = board.getSideToMove();
+            AlphaBetaSearch serial = new AlphaBetaSearch(DEPTH, AlphaBetaSearch.NO_TIME_LIMIT);
+            serial.selectMove(board, side);
+            for (int run = 0; run < RUNS; run++) {
+                YbwcSearch parallel = new YbwcSearch(THREADS, DEPTH, AlphaBetaSearch.NO_TIME_LIMIT, SPLIT_DEPTH, 16);
+                try {
+                    int move = parallel.selectMove(board, side);
+                    assertTrue(MoveGenerator.isLegal(board, side, move));
+                    assertEquals("score for hash " + Long.toHexString(board.getHash()),
+                            serial.getBestScore(), parallel.getBestScore());
+                } finally {
+                    parallel.shutdown();
+                }
+            }
+        }
+    }
+
+    // The standard start, the Board case setups and positions a few random plies into a game
+    private static List<Board> positions() {
+        List<Board> positions = new ArrayList<>();
+        for (int setup = GameRecord.STANDARD_SETUP; setup <= GameRecord.MAX_SETUP; setup++) {
+            positions.add(GameRecord.createBoard(setup));
+        }
+        Random random = new Random(11);
+        MoveList moves = new MoveList();
+        for (int game = 0; game < 6; game++) {
+            Board board = new Board();
+            for (int ply = 0; ply < 10 + game * 3; ply++) {
+                MoveGenerator.generateMoves(board, board.getSideToMove(), moves);
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+                if (board.isConnected('B') || board.isConnected('W')) {
+                    board.unmakeMove();
+                    break;
+                }
+            }
+            positions.add(board);
+        }
+        return positions;
+    }
+}
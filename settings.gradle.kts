@@ -21,4 +21,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "Lines of Action"
 include(":app")
+include(":engine")
+include(":benchmark")
  
\ No newline at end of file